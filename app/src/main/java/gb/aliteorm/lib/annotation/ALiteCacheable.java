@@ -0,0 +1,45 @@
+/*
+ * Copyright (C) 2015 Guillaume Barré
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gb.aliteorm.lib.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Keeps the columns of the loaded instances of an entity into a cache shared by all the sessions.
+ * <p>
+ * The cache is used when an instance is loaded by its id, the least recently used instances are evicted
+ * once the cache is full. The cached instances are removed when they are saved or deleted, and the whole cache is
+ * cleared by the deletes and the updates made without loading the instances.
+ *
+ * @author Guillaume Barré
+ * @since 1.0
+ *
+ */
+@Target({ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ALiteCacheable {
+
+	/**
+	 * Returns the maximum number of instances kept into the cache
+	 * @return the maximum number of instances kept into the cache
+	 */
+	int maxEntries() default 1000;
+}
@@ -49,4 +49,10 @@ public @interface ALiteElementCollection {
 	 * @return the implementation class of the collection content
 	 */
 	String contentClass() default "";
+
+	/**
+	 * Returns the strategy used to load the collection content
+	 * @return the strategy used to load the collection content
+	 */
+	FetchMode fetch() default FetchMode.EAGER;
 }
\ No newline at end of file
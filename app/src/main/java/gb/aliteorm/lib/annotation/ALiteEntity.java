@@ -38,6 +38,7 @@ import java.lang.annotation.Target;
  * @see ALiteElementCollection
  * @see ALiteEmbeddable
  * @see ALiteMappedSuperclass
+ * @see SaveMode
  *
  * @author Guillaume Barré
  * @since 1.0
@@ -52,4 +53,10 @@ public @interface ALiteEntity {
 	 * @return the optional name of the mapped database table
 	 */
 	 String name() default "";
+
+	/**
+	 * Returns the strategy used to save the instances of the entity
+	 * @return the strategy used to save the instances of the entity
+	 */
+	 SaveMode saveMode() default SaveMode.CHECK;
 }
\ No newline at end of file
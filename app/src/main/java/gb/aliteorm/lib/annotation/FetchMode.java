@@ -0,0 +1,42 @@
+/*
+ * Copyright (C) 2015 Guillaume Barré
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gb.aliteorm.lib.annotation;
+
+/**
+ * Strategy used to load the content of an element collection.
+ *
+ * @see ALiteElementCollection#fetch()
+ *
+ * @author Guillaume Barré
+ * @since 1.0
+ *
+ */
+public enum FetchMode {
+
+	/**
+	 * The content is loaded with the entity.
+	 */
+	EAGER,
+
+	/**
+	 * The content is loaded the first time the collection is accessed, while the session which loaded the entity is still open.
+	 * <p>
+	 * The collection must be declared as a <code>java.util.List</code>, a <code>java.util.Set</code> or a <code>java.util.Collection</code>.
+	 */
+	LAZY
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (C) 2015 Guillaume Barré
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gb.aliteorm.lib.annotation;
+
+/**
+ * Strategy used to choose between an insert and an update when an entity is saved.
+ *
+ * @see ALiteEntity#saveMode()
+ *
+ * @author Guillaume Barré
+ * @since 1.0
+ *
+ */
+public enum SaveMode {
+
+	/**
+	 * The database is first queried to know if the instance already exists, then the instance
+	 * is inserted or updated.
+	 */
+	CHECK,
+
+	/**
+	 * The instance is directly updated and inserted only if no row has been updated.
+	 * <p>
+	 * This saves a query for each save. The existence of the row being unknown before the update, an entity
+	 * with <code>@ALitePreUpdate</code> callbacks, declared on it or by its listeners, is still queried first
+	 * to call the right callbacks.
+	 */
+	UPSERT
+}
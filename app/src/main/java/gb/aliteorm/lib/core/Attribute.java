@@ -16,13 +16,17 @@
 
 package gb.aliteorm.lib.core;
 
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 
 import gb.aliteorm.lib.annotation.ALiteColumn;
 import gb.aliteorm.lib.exception.UnsupportedGetterException;
+import gb.aliteorm.lib.impl.columns.ColumnCodec;
+import gb.aliteorm.lib.impl.columns.ColumnCodecs;
 import gb.aliteorm.lib.impl.columns.DBColumnFactory;
 import gb.aliteorm.lib.impl.columns.IDBColumn;
+import gb.aliteorm.lib.mapper.PropertyAccessor;
 import gb.aliteorm.lib.tools.ReflectionTools;
 
 /**
@@ -35,6 +39,8 @@ import gb.aliteorm.lib.tools.ReflectionTools;
 public class Attribute extends VersionableElement{
 
 	private IDBColumn c;
+	private ColumnCodec codec;
+	private PropertyAccessor accessor;
 	private AttributesContainer container;
 	private Method getter, setter = null;
 	private DBTable table;
@@ -57,6 +63,8 @@ public class Attribute extends VersionableElement{
 		this.container = container;
 		javaAttributeName = container.getContainerPrefix() + ReflectionTools.getJavaAttributeName(getter);
 		loadVersion(getter);
+		codec = ColumnCodecs.get(getter.getReturnType());
+		accessor = new PropertyAccessor(getter);
 		c = DBColumnFactory.getColumn(table.getTableName(), this, getter);
 		ac = (ALiteColumn)getter.getAnnotation(ALiteColumn.class);
 
@@ -74,6 +82,14 @@ public class Attribute extends VersionableElement{
 		return  (Type)getter.getReturnType();
 	}
 
+	/**
+	 * Returns the codec of the return type of the getter used to access this attribute
+	 * @return the codec
+	 */
+	public ColumnCodec getCodec(){
+		return codec;
+	}
+
 	/**
 	 * Returns the getter to access this attribute
 	 * @return the getter 
@@ -95,6 +111,28 @@ public class Attribute extends VersionableElement{
 		return setter;
 	}
 
+	/**
+	 * Reads the value of this attribute, using the generated mapper of its class if there is one
+	 * @param target the instance declaring the attribute
+	 * @return the value
+	 * @throws IllegalAccessException will be thrown if the getter is not accessible
+	 * @throws InvocationTargetException will be thrown if the getter throws an exception
+	 */
+	public Object invokeGetter(Object target) throws IllegalAccessException, InvocationTargetException{
+		return accessor.get(target);
+	}
+
+	/**
+	 * Writes the value of this attribute, using the generated mapper of its class if there is one
+	 * @param target the instance declaring the attribute
+	 * @param value the value
+	 * @throws IllegalAccessException will be thrown if the setter is not accessible
+	 * @throws InvocationTargetException will be thrown if the setter throws an exception
+	 */
+	public void invokeSetter(Object target, Object value) throws IllegalAccessException, InvocationTargetException{
+		accessor.set(target, value);
+	}
+
 	/**
 	 * Indicates if this attribute is the simple id or part of the complex id of the entity who owns it
 	 * @return <code>true</code> if it's id or part of the id, otherwise <code>false</code>
@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2015 Guillaume Barré
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gb.aliteorm.lib.core;
+
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import android.util.Log;
+
+import gb.aliteorm.lib.tools.ALiteOrmBuilder;
+import gb.aliteorm.lib.tools.ILogPrefix;
+
+/**
+ * A SQL sentence compiled once with "?" parameters and executed many times with different bound values.
+ * <p>
+ * A compiled statement is linked to the database used to compile it, it must be released
+ * before this database is closed.
+ *
+ * @author Guillaume Barré
+ * @since 1.0
+ *
+ */
+public class CompiledStatement {
+
+	private String sql;
+	private SQLiteStatement st;
+
+	/**
+	 * Compiles a new statement
+	 * @param db the database
+	 * @param sql the SQL sentence to compile
+	 */
+	public CompiledStatement(SQLiteDatabase db, String sql){
+		this.sql = sql;
+		if(ALiteOrmBuilder.getInstance().isShowLog())
+			Log.d(ILogPrefix.ACTIVITY_LOG, "compiling : " + sql);
+		st = db.compileStatement(sql);
+	}
+
+	/**
+	 * Returns the compiled statement where to bind the parameters
+	 * @return the compiled statement
+	 */
+	public SQLiteStatement getStatement(){
+		return st;
+	}
+
+	/**
+	 * Returns the compiled SQL sentence
+	 * @return the SQL sentence
+	 */
+	public String getSql(){
+		return sql;
+	}
+
+	/**
+	 * Executes an insert statement and clears its bound parameters
+	 * @return the row id of the inserted row, -1 if nothing has been inserted
+	 */
+	public long executeInsert(){
+		if(ALiteOrmBuilder.getInstance().isShowSQL())
+			Log.d(ILogPrefix.SQL_LOG, sql);
+		try{
+			return st.executeInsert();
+		}finally{
+			st.clearBindings();
+		}
+	}
+
+	/**
+	 * Executes an update or a delete statement and clears its bound parameters
+	 * @return the number of rows affected
+	 */
+	public int executeUpdateDelete(){
+		if(ALiteOrmBuilder.getInstance().isShowSQL())
+			Log.d(ILogPrefix.SQL_LOG, sql);
+		try{
+			return st.executeUpdateDelete();
+		}finally{
+			st.clearBindings();
+		}
+	}
+
+	/**
+	 * Releases the compiled statement
+	 */
+	public void release(){
+		st.close();
+	}
+}
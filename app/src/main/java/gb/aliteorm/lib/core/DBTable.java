@@ -18,11 +18,16 @@ package gb.aliteorm.lib.core;
 
 import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
 import android.util.Log;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Hashtable;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import gb.aliteorm.lib.annotation.ALiteDBVersion;
 import gb.aliteorm.lib.annotation.ALiteEntity;
@@ -43,6 +48,9 @@ import gb.aliteorm.lib.tools.StringTools;
  */
 public class DBTable {
 
+	// Maximum number of insert and update statements kept compiled for the combinations of written columns
+	private static final int MAX_MASK_STATEMENTS = 25;
+
 	private ArrayList<String> names;
 	private ArrayList<Attribute> attributes, updatableAttributes, insertableAttributes;
 
@@ -55,6 +63,12 @@ public class DBTable {
 	private ElementCollection ec = null;
 	private String allAttributes = null;
 
+	private SQLiteDatabase statementsDb = null;
+	private LinkedHashMap<BitSet, CompiledStatement> insertStatements, updateStatements;
+	private CompiledStatement deleteStatement = null;
+	private Hashtable<String, CompiledStatement> statements;
+	private Hashtable<String, RowMapper> rowMappers;
+
 	/**
 	 * Creates a new table
 	 */
@@ -62,6 +76,32 @@ public class DBTable {
 		attributes = new ArrayList<Attribute>();
 		updates = new Hashtable<String, ArrayList<DBUpdate>>();
 		names = new ArrayList<String>();
+		insertStatements = newMaskStatements();
+		updateStatements = newMaskStatements();
+		statements = new Hashtable<String, CompiledStatement>();
+		rowMappers = new Hashtable<String, RowMapper>();
+	}
+
+	/**
+	 * Creates the cache of the statements compiled for the combinations of written columns
+	 * <p>
+	 * Each combination of null and non null values gets its own statement, the cache keeps the
+	 * <code>MAX_MASK_STATEMENTS</code> most recently used and releases the eldest.
+	 * @return the cache
+	 */
+	private static LinkedHashMap<BitSet, CompiledStatement> newMaskStatements(){
+		return new LinkedHashMap<BitSet, CompiledStatement>(16, 0.75f, true){
+
+			private static final long serialVersionUID = 4526163813624978401L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<BitSet, CompiledStatement> eldest){
+				if(size() <= MAX_MASK_STATEMENTS)
+					return false;
+				eldest.getValue().release();
+				return true;
+			}
+		};
 	}
 
 	/**
@@ -177,9 +217,14 @@ public class DBTable {
 	 * Creates the table into the database for the given schema version
 	 * @param db the database
 	 * @param version the schema version ( -1 corresponds to the initial database version )
+	 * @param sqls the additional column and constraint definitions
 	 */
-	protected void buildDataBase(SQLiteDatabase db, ALiteDBVersion version){
-		getCreatedOrder(version.versionNumber()).execute(db);
+	protected void buildDataBase(SQLiteDatabase db, ALiteDBVersion version, String... sqls){
+		CreateTableOrder co = getCreatedOrder(version.versionNumber());
+		for (int i = 0; i < sqls.length; i++) {
+			co.addColumnDefinition(sqls[i]);
+		}
+		co.execute(db);
 	}
 
 	/**
@@ -385,38 +430,72 @@ public class DBTable {
 	}
 
 	/**
-	 * Fills an entity instance with all the attributes held into the table for the given cursor
+	 * Returns the mapper of all the attributes held into the table for the columns of the given cursor
 	 * @param c the cursor to read
-	 * @param result the entity instance to fill
+	 * @return the mapper
 	 */
-	protected void load(Cursor c, TravelingEntity result){
-		load(c, result.getContent());
+	protected RowMapper getRowMapper(Cursor c){
+		return getRowMapper(c, attributes);
 	}
 
 	/**
-	 * Fills an element collection instance with all the attributes held into the table for the given cursor
+	 * Returns the mapper of the given attributes for the columns of the given cursor
+	 * <p>
+	 * The mappers are kept for each result shape, the mapped attributes and the columns returned by the cursor
 	 * @param c the cursor to read
-	 * @param result the element collection instance to fill
+	 * @param mapped the attributes to map
+	 * @return the mapper
 	 */
-	protected void load(Cursor c, TravelingElementCollection result){
-		load(c, result.getContent());
+	protected synchronized RowMapper getRowMapper(Cursor c, List<Attribute> mapped){
+		StringBuilder key = new StringBuilder();
+		for(int i = 0; i < mapped.size(); i++){
+			key.append(mapped.get(i).getDBName()).append(",");
+		}
+		key.append("|");
+		String[] names = c.getColumnNames();
+		for(int i = 0; i < names.length; i++){
+			key.append(names[i]).append(",");
+		}
+		RowMapper mapper = rowMappers.get(key.toString());
+		if(mapper == null){
+			mapper = new RowMapper(mapped, c);
+			rowMappers.put(key.toString(), mapper);
+		}
+		return mapper;
 	}
 
 	/**
-	 * Fills an object with all the attributes held into the table for the given cursor
+	 * Fills an entity instance with all the attributes held into the table for the current row of the given cursor
+	 * @param mapper the mapper returned by <code>getRowMapper(Cursor)</code> for the cursor
 	 * @param c the cursor to read
-	 * @param result the object to fill
+	 * @param result the entity instance to fill
 	 */
-	private void load(Cursor c, Object result){
-		Iterator<Attribute> itF = getAttributes();
-		IDBColumn column;
-		while (itF.hasNext()) {
-			Attribute f = (Attribute) itF.next();
-			column = f.getDBColumn();
-			DBColumnFactory.setValue(column, c, f.getTarget(result));
+	protected void load(RowMapper mapper, Cursor c, TravelingEntity result){
+		mapper.load(c, result.getContent());
+	}
+
+	/**
+	 * Fills an entity instance with the values of all the attributes held into the table
+	 * @param values the values, as returned by <code>RowMapper.readValues(Cursor)</code> for the mapper returned by <code>getRowMapper(Cursor)</code>
+	 * @param result the entity instance to fill
+	 */
+	protected void load(Object[] values, TravelingEntity result){
+		for(int i = 0; i < values.length; i++){
+			Attribute f = attributes.get(i);
+			DBColumnFactory.writeValue(f.getDBColumn(), values[i], f.getTarget(result.getContent()));
 		}
 	}
 
+	/**
+	 * Fills an element collection instance with all the attributes held into the table for the current row of the given cursor
+	 * @param mapper the mapper returned by <code>getRowMapper(Cursor)</code> for the cursor
+	 * @param c the cursor to read
+	 * @param result the element collection instance to fill
+	 */
+	protected void load(RowMapper mapper, Cursor c, TravelingElementCollection result){
+		mapper.load(c, result.getContent());
+	}
+
 	/**
 	 * Returns an order to insert an entity into the mapped table
 	 * @return the insertion order
@@ -425,6 +504,22 @@ public class DBTable {
 		return new IO();
 	}
 
+	/**
+	 * Returns the values of the updatable columns of an entity, used to detect the columns changed before an update
+	 * @param o the entity
+	 * @return the values of the updatable columns
+	 * @see IUpdateOrder#fill(TravelingEntity, Object[])
+	 */
+	protected Object[] takeSnapshot(TravelingEntity o){
+		Object[] snapshot = new Object[updatableAttributes.size()];
+		for(int i = 0; i < snapshot.length; i++){
+			Attribute f = updatableAttributes.get(i);
+			IDBColumn column = f.getDBColumn();
+			snapshot[i] = column.getSnapshotValue(column.readValue(f.getTarget(o.getContent())));
+		}
+		return snapshot;
+	}
+
 	/**
 	 * Returns an order to update an entity into the mapped table
 	 * @return the update order
@@ -441,105 +536,232 @@ public class DBTable {
 		return new DO();
 	}
 
-	private abstract class BaseOrder{
+	/**
+	 * Returns a statement compiled on the given database for a SQL sentence on this table, compiling it on the first call
+	 * <p>
+	 * The caller must hold the lock on this table while binding and executing the returned statement
+	 * @param db the database
+	 * @param sql the SQL sentence
+	 * @return the compiled statement
+	 */
+	protected synchronized CompiledStatement getStatement(SQLiteDatabase db, String sql){
+		checkStatementsDatabase(db);
+		CompiledStatement cs = statements.get(sql);
+		if(cs == null){
+			cs = new CompiledStatement(db, sql);
+			statements.put(sql, cs);
+		}
+		return cs;
+	}
 
-		protected abstract String getSql();
+	/**
+	 * Returns a statement compiled on the given database for a chunk of a SQL sentence split to respect
+	 * <code>SqlTools.MAX_PARAMETERS</code>
+	 * <p>
+	 * Only the full chunks are kept compiled, the last chunk has a variable size and its statement is compiled
+	 * for a single use, it must be released with <code>releaseChunkStatement</code> once executed.
+	 * <p>
+	 * The caller must hold the lock on this table while binding and executing the returned statement
+	 * @param db the database
+	 * @param sql the SQL sentence of the chunk
+	 * @param full indicates if the chunk has the full size
+	 * @return the compiled statement
+	 */
+	protected CompiledStatement getChunkStatement(SQLiteDatabase db, String sql, boolean full){
+		return full ? getStatement(db, sql) : new CompiledStatement(db, sql);
+	}
 
-		/**
-		 * Executes the order on the given database
-		 * @param db the database
-		 */
-		public void execute(SQLiteDatabase db){
-			if(ALiteOrmBuilder.getInstance().isShowSQL())
-				Log.d(ILogPrefix.SQL_LOG, getSql());
-			db.execSQL(getSql());
-		}
+	/**
+	 * Releases a statement returned by <code>getChunkStatement</code> if it has been compiled for a single use
+	 * @param cs the compiled statement
+	 * @param full indicates if the chunk has the full size
+	 */
+	protected void releaseChunkStatement(CompiledStatement cs, boolean full){
+		if(!full)
+			cs.release();
 	}
 
-	private class DO extends BaseOrder implements IDeleteOrder{
-		private String t;
+	/**
+	 * Returns the attributes written when a new row is inserted into this table
+	 * @return the insertable attributes
+	 */
+	protected ArrayList<Attribute> getInsertableAttributes(){
+		return insertableAttributes;
+	}
 
-		private String w;
+	/**
+	 * Checks that the compiled statements have been compiled on the given database,
+	 * if not they will be released to be compiled again on demand
+	 * @param db the database
+	 */
+	private void checkStatementsDatabase(SQLiteDatabase db){
+		if(statementsDb != db){
+			releaseStatements();
+			statementsDb = db;
+		}
+	}
 
-		public DO(){
-			this.t = tableName;
+	/**
+	 * Releases all the statements compiled for this table
+	 * <p>
+	 * This must be called before closing the database used to compile them
+	 */
+	public synchronized void releaseStatements(){
+		Iterator<CompiledStatement> it = insertStatements.values().iterator();
+		while (it.hasNext()) {
+			it.next().release();
+		}
+		it = updateStatements.values().iterator();
+		while (it.hasNext()) {
+			it.next().release();
+		}
+		it = statements.values().iterator();
+		while (it.hasNext()) {
+			it.next().release();
+		}
+		insertStatements.clear();
+		updateStatements.clear();
+		statements.clear();
+		if(deleteStatement != null){
+			deleteStatement.release();
+			deleteStatement = null;
 		}
+		statementsDb = null;
+	}
+
+	private class DO implements IDeleteOrder{
+		private TravelingEntity o;
 
 		@Override
 		public IDeleteOrder fill(TravelingEntity o) {
-			StringBuilder s = new StringBuilder()
-			.append(" WHERE ")
-			.append(id.getWhereFor(o));
-			this.w = s.toString();
+			this.o = o;
 			return this;
 		}
 
 		@Override
-		protected String getSql() {
-			return new StringBuilder("DELETE FROM ")
-			.append(t)
-			.append(w)
-			.toString();
+		public void execute(SQLiteDatabase db){
+			synchronized (DBTable.this) {
+				checkStatementsDatabase(db);
+				if(deleteStatement == null){
+					String sql = new StringBuilder("DELETE FROM ")
+					.append(tableName)
+					.append(" WHERE ")
+					.append(id.getParameterizedWhere(false))
+					.toString();
+					deleteStatement = new CompiledStatement(db, sql);
+				}
+				id.bindWhereFor(deleteStatement.getStatement(), 1, o);
+				deleteStatement.executeUpdateDelete();
+			}
 		}
 	}
 
-	private class UO extends BaseOrder implements IUpdateOrder{
-		private String t;
-		private ArrayList<String> v;
-		private String w;
+	private class UO implements IUpdateOrder{
+		private BitSet mask;
+		private ArrayList<IDBColumn> c;
+		private ArrayList<Object> v;
+		private TravelingEntity o;
+		private Object[] snapshot;
 
 		public UO(){
-			this.t = tableName;
-			v = new ArrayList<String>();
+			mask = new BitSet();
+			c = new ArrayList<IDBColumn>();
+			v = new ArrayList<Object>();
 		}
 
 		@Override
-		public void addColumnUpdateSql(String val) {
-			v.add(val);
+		public IUpdateOrder fill(TravelingEntity o) {
+			return fill(o, null);
 		}
 
 		@Override
-		public void addColumnUpdate(String c, String v) {
-			addColumnUpdateSql(c + "=" + v);
+		public IUpdateOrder fill(TravelingEntity o, Object[] snapshot) {
+			this.o = o;
+			this.snapshot = snapshot;
+			for(int i = 0; i < updatableAttributes.size(); i++){
+				Attribute f = updatableAttributes.get(i);
+				Object target = f.getTarget(o.getContent());
+				IDBColumn column = f.getDBColumn();
+				Object value = column.readValue(target);
+				if(snapshot != null){
+					Object old = snapshot[i];
+					Object current = column.getSnapshotValue(value);
+					if(old == null ? current == null : old.equals(current))
+						continue;
+				}else if(target == null){
+					continue;
+				}
+				mask.set(i);
+				c.add(column);
+				v.add(value);
+			}
+			return this;
 		}
 
-		@Override
-		protected String getSql() {
-			StringBuilder strb = new StringBuilder("UPDATE " + t + " SET ");
-			Iterator<String> cName = v.iterator();
-			while (cName.hasNext()) {
-				strb.append(cName.next())
-				.append(",");
+		/**
+		 * Returns the SQL sentence to update the columns of this order
+		 * @return the SQL sentence
+		 */
+		private String getSql() {
+			StringBuilder strb = new StringBuilder("UPDATE ")
+			.append(tableName)
+			.append(" SET ");
+			for(int i = 0; i < c.size(); i++){
+				strb.append(c.get(i).getAttribute().getDBName())
+				.append("=?");
+				if(i + 1 < c.size())
+					strb.append(",");
 			}
+			return strb.append(" WHERE ")
+					.append(id.getParameterizedWhere(false))
+					.toString();
+		}
 
-			return StringTools.removeLastChar(strb.toString()) + w;
+		@Override
+		public int execute(SQLiteDatabase db){
+			if(c.isEmpty())
+				return -1;
+			synchronized (DBTable.this) {
+				checkStatementsDatabase(db);
+				CompiledStatement cs = updateStatements.get(mask);
+				if(cs == null){
+					cs = new CompiledStatement(db, getSql());
+					updateStatements.put(mask, cs);
+				}
+				SQLiteStatement st = cs.getStatement();
+				for(int i = 0; i < c.size(); i++){
+					c.get(i).bindValue(st, i + 1, v.get(i));
+				}
+				id.bindWhereFor(st, c.size() + 1, o);
+				return cs.executeUpdateDelete();
+			}
 		}
 
 		@Override
-		public IUpdateOrder fill(TravelingEntity o) {
-			StringBuilder s = new StringBuilder()
-			.append(" WHERE ")
-			.append(id.getWhereFor(o));
-			this.w = s.toString();
-
-			Iterator<Attribute> itF = updatableAttributes.iterator();
-			while (itF.hasNext()) {
-				Attribute f = (Attribute) itF.next();
-				f.getDBColumn().insertColumn(this, f.getTarget(o.getContent()));
+		public Object[] getSnapshot(){
+			if(snapshot == null)
+				return null;
+			Object[] result = snapshot.clone();
+			for(int i = mask.nextSetBit(0), j = 0; i >= 0; i = mask.nextSetBit(i + 1), j++){
+				result[i] = c.get(j).getSnapshotValue(v.get(j));
 			}
-			return this;
+			return result;
 		}
 	}
 
-	private class IO extends BaseOrder implements IInsertOrder{
-		private String t;
-		private ArrayList<String> c;
-		private ArrayList<String> v;
+	private class IO implements IInsertOrder{
+		private BitSet mask;
+		private ArrayList<IDBColumn> c;
+		private ArrayList<Object> v;
+		private ArrayList<String> eC;
+		private ArrayList<Object> eV;
 
 		public IO(){
-			this.t = tableName;
-			c = new ArrayList<String>();
-			v = new ArrayList<String>();
+			mask = new BitSet();
+			c = new ArrayList<IDBColumn>();
+			v = new ArrayList<Object>();
+			eC = new ArrayList<String>();
+			eV = new ArrayList<Object>();
 		}
 
 		@Override
@@ -555,36 +777,72 @@ public class DBTable {
 		}
 
 		private void fill(Object o) {
-			Iterator<Attribute> itF = insertableAttributes.iterator();
-			while (itF.hasNext()) {
-				Attribute f = (Attribute) itF.next();
-				f.getDBColumn().insertColumn(this, f.getTarget(o));
+			for(int i = 0; i < insertableAttributes.size(); i++){
+				Attribute f = insertableAttributes.get(i);
+				IDBColumn column = f.getDBColumn();
+				Object value = column.readValue(f.getTarget(o));
+				// Null values are left out of the insert to let the database apply the column default
+				if(value == null)
+					continue;
+				mask.set(i);
+				c.add(column);
+				v.add(value);
 			}
 		}
 
 		@Override
-		protected String getSql(){
-			StringBuilder strb = new StringBuilder("INSERT INTO " + t + " (");
-			Iterator<String> cName = c.iterator();
-			while (cName.hasNext()) {
-				strb.append(cName.next())
+		public void addColumn(String column, Object value){
+			// The extra columns are always added in the same order for a given table
+			mask.set(insertableAttributes.size() + eC.size());
+			eC.add(column);
+			eV.add(value);
+		}
+
+		/**
+		 * Returns the SQL sentence to insert the columns of this order
+		 * @return the SQL sentence
+		 */
+		private String getSql(){
+			if(c.isEmpty() && eC.isEmpty())
+				return "INSERT INTO " + tableName + " DEFAULT VALUES";
+
+			StringBuilder strb = new StringBuilder("INSERT INTO ")
+			.append(tableName)
+			.append(" (");
+			StringBuilder values = new StringBuilder(" VALUES (");
+			for(int i = 0; i < c.size(); i++){
+				strb.append(c.get(i).getAttribute().getDBName())
 				.append(",");
+				values.append("?,");
 			}
-
-			strb = new StringBuilder(StringTools.removeLastChar(strb.toString()) + " )")
-			.append(" VALUES (");
-
-			Iterator<String> cValue = v.iterator();
-			while (cValue.hasNext()) {
-				strb.append(cValue.next())
+			for(int i = 0; i < eC.size(); i++){
+				strb.append(eC.get(i))
 				.append(",");
+				values.append("?,");
 			}
-			return StringTools.removeLastChar(strb.toString()) + " )";
+			return StringTools.removeLastChar(strb.toString()) + " )"
+					+ StringTools.removeLastChar(values.toString()) + " )";
 		}
 
-		public void addColumn(String columnName, String value){
-			c.add(columnName);
-			v.add(value);
+		@Override
+		public long execute(SQLiteDatabase db){
+			synchronized (DBTable.this) {
+				checkStatementsDatabase(db);
+				CompiledStatement cs = insertStatements.get(mask);
+				if(cs == null){
+					cs = new CompiledStatement(db, getSql());
+					insertStatements.put(mask, cs);
+				}
+				SQLiteStatement st = cs.getStatement();
+				int index = 1;
+				for(int i = 0; i < c.size(); i++){
+					c.get(i).bindValue(st, index++, v.get(i));
+				}
+				for(int i = 0; i < eC.size(); i++){
+					DBColumnFactory.bindValue(st, index++, eV.get(i));
+				}
+				return cs.executeInsert();
+			}
 		}
 	}
 
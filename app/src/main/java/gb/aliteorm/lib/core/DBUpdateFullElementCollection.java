@@ -29,6 +29,7 @@ public class DBUpdateFullElementCollection extends DBUpdate{
 
 
 	private DBTable t;
+	private ElementCollection ec;
 
 	/**
 	 * Creates a new database update to add a given ElementCollection
@@ -38,11 +39,12 @@ public class DBUpdateFullElementCollection extends DBUpdate{
 	public DBUpdateFullElementCollection(DBTable table, ElementCollection ec){
 		super(ec.getVersion());
 		this.t = table;
+		this.ec = ec;
 	}
 
 	@Override
 	public void processUpdate(SQLiteDatabase db){
-		t.buildDataBase(db, getVersion());
+		ec.buildDataBase(db, getVersion());
 	}
 
 	@Override
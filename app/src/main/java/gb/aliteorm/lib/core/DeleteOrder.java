@@ -33,6 +33,7 @@ public class DeleteOrder {
 
 	private String t;
 	private String w = "";
+	private String[] args = new String[] {};
 
 	/**
 	 * Deletes instances base on a criteria condition
@@ -43,6 +44,7 @@ public class DeleteOrder {
 	public DeleteOrder(Entity e, Criteria c){
 		t = e.getTable().getTableName();
 		w = c.getSql(false, false, false);
+		args = c.getArguments();
 	}
 
 	/**
@@ -81,6 +83,6 @@ public class DeleteOrder {
 	public void execute(SQLiteDatabase db){
 		if(ALiteOrmBuilder.getInstance().isShowSQL())
 			Log.d(ILogPrefix.SQL_LOG, getSql());
-		db.execSQL(getSql());
+		db.execSQL(getSql(), args);
 	}
 }
\ No newline at end of file
@@ -18,6 +18,7 @@ package gb.aliteorm.lib.core;
 
 import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
 import android.util.Log;
 
 import java.lang.annotation.Annotation;
@@ -26,22 +27,39 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.Date;
 import java.util.HashSet;
+import java.util.Hashtable;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import gb.aliteorm.lib.annotation.ALiteDBVersion;
 import gb.aliteorm.lib.annotation.ALiteElementCollection;
 import gb.aliteorm.lib.annotation.ALiteEmbeddable;
 import gb.aliteorm.lib.annotation.ALiteStringLength;
+import gb.aliteorm.lib.annotation.FetchMode;
+import gb.aliteorm.lib.exception.RLazyInitializationException;
 import gb.aliteorm.lib.exception.RMappingException;
 import gb.aliteorm.lib.exception.RWrongCollectionContentTypeException;
 import gb.aliteorm.lib.exception.RWrongElementCollectionTypeException;
+import gb.aliteorm.lib.impl.columns.ColumnCodec;
+import gb.aliteorm.lib.impl.columns.ColumnCodecs;
 import gb.aliteorm.lib.impl.columns.DBColumnFactory;
 import gb.aliteorm.lib.impl.columns.IDBColumn;
+import gb.aliteorm.lib.mapper.EntityMappers;
+import gb.aliteorm.lib.mapper.PropertyAccessor;
+import gb.aliteorm.lib.query.impl.ISqlString;
 import gb.aliteorm.lib.query.impl.SqlTools;
 import gb.aliteorm.lib.tools.ALiteOrmBuilder;
 import gb.aliteorm.lib.tools.ILogPrefix;
 import gb.aliteorm.lib.tools.ReflectionTools;
+import gb.aliteorm.lib.tools.Session;
 // TODO JAVADOC
 /**
  *
@@ -57,10 +75,14 @@ public class ElementCollection  extends AttributesContainer{
 	private Entity entity;
 	private ALiteElementCollection mainAnn;
 	private Method collectionGetter, collectionSetter;
+	private PropertyAccessor collectionAccessor;
 	private Class<?> containerClass;
 	private String tName;
 	private boolean isBaseTypedCollection;
+	private ColumnCodec codec;
 	private Field collectionField;
+	private Boolean cascading = null;
+	private boolean lazy = false;
 
 	/**
 	 * Creates a new collection mapping
@@ -77,6 +99,7 @@ public class ElementCollection  extends AttributesContainer{
 
 		this.collectionGetter.setAccessible(true);
 		this.collectionSetter.setAccessible(true);
+		collectionAccessor = new PropertyAccessor(m, s);
 
 		if(entity.getVersion() != null){
 			setVersion(entity);
@@ -93,6 +116,7 @@ public class ElementCollection  extends AttributesContainer{
 		containerClass = loadContainerClass();
 		checkContentType();
 		checkCollectionType();
+		checkFetchMode();
 		if(!isBaseTypedCollection){
 			Annotation ann = getImplementationClass().getAnnotation(ALiteEmbeddable.class);
 			if(ann == null){
@@ -109,7 +133,8 @@ public class ElementCollection  extends AttributesContainer{
 	 * Checks how the content of the collection is implemented
 	 */
 	private void checkContentType(){
-		isBaseTypedCollection = DBColumnFactory.isBaseType(getImplementationClass());
+		codec = ColumnCodecs.get(getImplementationClass());
+		isBaseTypedCollection = codec != null;
 		if(!isBaseTypedCollection){
 			if(getImplementationClass().isInterface()){
 				if(mainAnn != null && (mainAnn.contentClass() == null || mainAnn.contentClass().trim().length() == 0)){
@@ -130,6 +155,27 @@ public class ElementCollection  extends AttributesContainer{
 		// TODO 1 IMPLEMENT THIS
 	}
 
+	/**
+	 * Checks if the collection can be loaded lazily when it's required
+	 */
+	private void checkFetchMode(){
+		if(mainAnn == null || mainAnn.fetch() != FetchMode.LAZY)
+			return;
+		Class<?> proxyClass = containerClass != null && Set.class.isAssignableFrom(containerClass) ? LazySet.class : LazyList.class;
+		if(containerClass == null || !collectionField.getType().isAssignableFrom(proxyClass)){
+			throw new RWrongElementCollectionTypeException("the collection \"" + collectionField.getName() + "\" of \"" + entity.getTable().getTableName() + "\" cannot be loaded lazily, it must be declared as a java.util.List, a java.util.Set or a java.util.Collection");
+		}
+		lazy = true;
+	}
+
+	/**
+	 * Indicates if the collection content is loaded the first time it's accessed
+	 * @return <code>true</code> if the content is loaded lazily, otherwise <code>false</code>
+	 */
+	public boolean isLazy(){
+		return lazy;
+	}
+
 	/**
 	 * Loads the class used to implement the collection
 	 * @return the class used to implement the collection
@@ -173,25 +219,109 @@ public class ElementCollection  extends AttributesContainer{
 	 * @param db the database
 	 */
 	public void buildInitialDataBase(SQLiteDatabase db){
+		buildDataBase(db, null);
+	}
+
+	/**
+	 * Builds the database table, with its foreign key and the index of its join columns
+	 * @param db the database
+	 * @param version the schema version adding the collection, <code>null</code> for the initial database
+	 */
+	protected void buildDataBase(SQLiteDatabase db, ALiteDBVersion version){
 		if(ALiteOrmBuilder.getInstance().isShowLog())
 			Log.d(ILogPrefix.ACTIVITY_LOG, "creating the table for the entity : " + getImplementationClass().getName());
 		if(isBaseTypedCollection){
 			CreateTableOrder or = new CreateTableOrder(tName);
 			Annotation ann = collectionGetter.getAnnotation(ALiteStringLength.class);
-			or.addColumnDefinition(collectionField.getName() + " " + DBColumnFactory.getBaseTypeSql(getImplementationClass(), (ALiteStringLength)ann));
+			or.addColumnDefinition(collectionField.getName() + " " + codec.getSqlType((ALiteStringLength)ann));
 			IDBColumn[] idCOlumns = id.getColumns();
 			for (int i = 0; i < idCOlumns.length; i++) {
 				or.addColumnDefinition(idCOlumns[i].getJoinColumDefinition());
 			}
+			or.addColumnDefinition(getForeignKeyDefinition());
 			or.execute(db);
 		}else{
-			String[] columnDefinitions = new String[id.getColumns().length];
+			String[] columnDefinitions = new String[id.getColumns().length + 1];
 			IDBColumn[] idCOlumns = id.getColumns();
 			for (int i = 0; i < idCOlumns.length; i++) {
 				columnDefinitions[i] = idCOlumns[i].getJoinColumDefinition();
 			}
-			table.buildInitialDataBase(db, columnDefinitions);
+			columnDefinitions[idCOlumns.length] = getForeignKeyDefinition();
+			if(version == null)
+				table.buildInitialDataBase(db, columnDefinitions);
+			else
+				table.buildDataBase(db, version, columnDefinitions);
 		}
+		createJoinIndex(db);
+	}
+
+	/**
+	 * Returns the SQL sentence declaring the join columns as a foreign key on the entity id,
+	 * deleting the collection content with the entity
+	 * @return the SQL sentence
+	 */
+	private String getForeignKeyDefinition(){
+		StringBuilder joins = new StringBuilder();
+		StringBuilder ids = new StringBuilder();
+		IDBColumn[] idCOlumns = id.getColumns();
+		for (int i = 0; i < idCOlumns.length; i++) {
+			joins.append(idCOlumns[i].getJoinColumName());
+			ids.append(idCOlumns[i].getAttribute().getDBName());
+			if(i + 1 < idCOlumns.length){
+				joins.append(",");
+				ids.append(",");
+			}
+		}
+		return String.format(ISqlString.FOREIGN_KEY_SQL, joins, entity.getTable().getTableName(), ids);
+	}
+
+	/**
+	 * Creates the index on the join columns used to access the collection content of an entity
+	 * @param db the database
+	 */
+	private void createJoinIndex(SQLiteDatabase db){
+		StringBuilder joins = new StringBuilder();
+		IDBColumn[] idCOlumns = id.getColumns();
+		for (int i = 0; i < idCOlumns.length; i++) {
+			joins.append(idCOlumns[i].getJoinColumName());
+			if(i + 1 < idCOlumns.length)
+				joins.append(",");
+		}
+		String sql = String.format(ISqlString.CREATE_INDEX_SQL, tName + "_join_idx", tName, joins);
+		if(ALiteOrmBuilder.getInstance().isShowSQL())
+			Log.d(ILogPrefix.SQL_LOG, sql);
+		db.execSQL(sql);
+	}
+
+	/**
+	 * Indicates if the content of the collection is deleted by the database with the entity
+	 * <p>
+	 * This is the case for the tables created with a foreign key, tables created by older versions
+	 * of the library have no foreign key and their content must be deleted explicitly
+	 * @param db the database
+	 * @return <code>true</code> if the content is deleted on cascade, otherwise <code>false</code>
+	 */
+	private boolean isCascading(SQLiteDatabase db){
+		if(cascading == null){
+			boolean result = false;
+			String sql = String.format(ISqlString.FOREIGN_KEY_LIST_SQL, tName);
+			if(ALiteOrmBuilder.getInstance().isShowSQL())
+				Log.d(ILogPrefix.SQL_LOG, sql);
+			Cursor c = db.rawQuery(sql, null);
+			try{
+				while(c.moveToNext()){
+					if(entity.getTable().getTableName().equalsIgnoreCase(c.getString(c.getColumnIndex("table")))
+							&& "CASCADE".equalsIgnoreCase(c.getString(c.getColumnIndex("on_delete")))){
+						result = true;
+						break;
+					}
+				}
+			}finally{
+				c.close();
+			}
+			cascading = result;
+		}
+		return cascading;
 	}
 
 	/**
@@ -250,34 +380,220 @@ public class ElementCollection  extends AttributesContainer{
 
 	/**
 	 * Load the collection content into the given entity
+	 * <p>
+	 * If the collection is loaded lazily a collection loading the content the first time it's accessed is set
+	 * into the entity instead.
+	 * @param s the session calling the load
 	 * @param db  the database
 	 * @param o the entity where to load the content
 	 */
+	protected void load(Session s, SQLiteDatabase db, TravelingEntity o){
+		if(lazy)
+			setLazyContent(s, o);
+		else
+			fetch(s, db, o);
+	}
+
+	/**
+	 * Load the collection content into the given entity, even if the collection is loaded lazily
+	 * <p>
+	 * The loaded content is kept by the session to save only the changed elements
+	 * @param s the session calling the load
+	 * @param db  the database
+	 * @param o the entity where to load the content
+	 */
+	protected void fetch(Session s, SQLiteDatabase db, TravelingEntity o){
+		Collection<?> container = read(s, db, o);
+		if(container != null)
+			setContent(o, container);
+	}
+
+	/**
+	 * Loads the content of a lazy collection
+	 * @param s the session which loaded the entity
+	 * @param o the entity owning the collection
+	 * @return the loaded content
+	 * @throws RLazyInitializationException will be thrown if the session has been closed
+	 */
+	protected Collection<?> loadContent(Session s, TravelingEntity o) throws RLazyInitializationException{
+		if(!s.isOpen())
+			throw new RLazyInitializationException("the collection \"" + collectionField.getName() + "\" of \"" + entity.getTable().getTableName() + "\" cannot be loaded, the session has been closed");
+		return read(s, s.getDatabase(), o);
+	}
+
+	/**
+	 * Indicates if the collection content of the given entity has been loaded by a session
+	 * @param s the session
+	 * @param o the entity owning the collection
+	 * @return <code>true</code> if the content has been loaded by the session or is loaded lazily, otherwise <code>false</code>
+	 */
+	protected boolean isLoaded(Session s, TravelingEntity o){
+		return getObject(o.getContent()) instanceof ILazyCollection || s.getCollectionSnapshot(o.getContent(), tName) != null;
+	}
+
+	/**
+	 * Loads the content of a lazy collection of the given entity if it has not been loaded yet
+	 * @param o the entity owning the collection
+	 */
+	protected void initialize(TravelingEntity o){
+		Object content = getObject(o.getContent());
+		if(content instanceof ILazyCollection)
+			((ILazyCollection)content).initialize();
+	}
+
+	/**
+	 * Sets into the given entity a collection loading its content the first time it's accessed
+	 * @param s the session calling the load
+	 * @param o the entity where to set the collection
+	 */
+	private void setLazyContent(Session s, TravelingEntity o){
+		if(Set.class.isAssignableFrom(containerClass))
+			setContent(o, new LazySet<Object>(s, this, o));
+		else
+			setContent(o, new LazyList<Object>(s, this, o));
+	}
+
+	/**
+	 * Sets the collection into the given entity
+	 * @param o the entity
+	 * @param container the collection
+	 */
+	private void setContent(TravelingEntity o, Collection<?> container){
+		try{
+			collectionAccessor.set(o.getContent(), container);
+		} catch(IllegalAccessException iae){
+			throw new RMappingException("error loading the elementCollection :" + collectionField.getName() + " for the entity " + entity.getTable().getTableName(), iae);
+		} catch (InvocationTargetException ite) {
+			throw new RMappingException("error loading the elementCollection :" + collectionField.getName() + " for the entity " + entity.getTable().getTableName(), ite);
+		}
+	}
+
+	/**
+	 * Reads the collection content of the given entity
+	 * <p>
+	 * The loaded content is kept by the session to save only the changed elements
+	 * @param s the session calling the load
+	 * @param db  the database
+	 * @param o the entity owning the content
+	 * @return the loaded content
+	 */
 	@SuppressWarnings({ "rawtypes", "unchecked" })
-	protected void load(SQLiteDatabase db, TravelingEntity o){
+	private Collection<?> read(Session s, SQLiteDatabase db, TravelingEntity o){
 		Cursor cursor = buildSelectOrder(o).execute(db);
 		try{
-			Collection container = (Collection<?>)containerClass.newInstance();
+			Collection container = (Collection<?>)EntityMappers.newInstance(containerClass);
 			if(container != null){
+				int index = isBaseTypedCollection ? cursor.getColumnIndex(collectionField.getName()) : -1;
+				RowMapper mapper = isBaseTypedCollection ? null : table.getRowMapper(cursor);
 				while(cursor.moveToNext()){
-					if(isBaseTypedCollection){
-						container.add(DBColumnFactory.readCursor(collectionField.getName(), cursor, getImplementationClass()));
-					}else{
-						Object content = getImplementationClass().newInstance();
-						Iterator<Embeddable> itE = embeddeds.iterator();
-						while (itE.hasNext()) {
-							itE.next().loadEmptyEntity(content);
-						}
+					container.add(loadElement(cursor, index, mapper));
+				}
+				s.putCollectionSnapshot(o.getContent(), tName, readElements(container));
+			}
+			return container;
+		} catch (InstantiationException ie){
+			throw new RMappingException("error loading the elementCollection :" + collectionField.getName() + " for the entity " + entity.getTable().getTableName(), ie);
+		} catch(IllegalAccessException iae){
+			throw new RMappingException("error loading the elementCollection :" + collectionField.getName() + " for the entity " + entity.getTable().getTableName(), iae);
+		}finally{
+			cursor.close();
+		}
+	}
 
-						if(sClass != null){
-							sClass.loadEmptyEntity(content);
-						}
+	/**
+	 * Load the collection content into each of the given entities
+	 * <p>
+	 * The content of up to <code>ALiteOrmBuilder.getCollectionBatchSize()</code> entities is loaded by a single query,
+	 * then dispatched to each entity using the join columns. The ids of the entities are bound to "?" parameters.
+	 * <p>
+	 * If the collection is loaded lazily a collection loading the content the first time it's accessed is set
+	 * into each entity instead.
+	 * <p>
+	 * The loaded content is kept by the session to save only the changed elements
+	 * @param s the session calling the load
+	 * @param db  the database
+	 * @param owners the entities where to load the content
+	 */
+	protected void load(Session s, SQLiteDatabase db, List<TravelingEntity> owners){
+		if(lazy){
+			for(int i = 0; i < owners.size(); i++){
+				setLazyContent(s, owners.get(i));
+			}
+			return;
+		}
+		int batchSize = Math.min(ALiteOrmBuilder.getInstance().getCollectionBatchSize(), SqlTools.MAX_PARAMETERS / id.getColumns().length);
+		for(int start = 0; start < owners.size(); start += batchSize){
+			List<TravelingEntity> batch = owners.subList(start, Math.min(owners.size(), start + batchSize));
+			if(batch.size() == 1)
+				fetch(s, db, batch.get(0));
+			else
+				loadBatch(s, db, batch, batchSize);
+		}
+	}
+
+	/**
+	 * Load the collection content into each of the given entities with a single query
+	 * <p>
+	 * The ids are padded, repeating the last one, up to the next power of 2 to limit the number of distinct
+	 * sentences compiled by the database.
+	 * @param s the session calling the load
+	 * @param db  the database
+	 * @param owners the entities where to load the content
+	 * @param batchSize the maximum number of ids by query
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private void loadBatch(Session s, SQLiteDatabase db, List<TravelingEntity> owners, int batchSize){
+		IDBColumn[] idColumns = id.getColumns();
+		Hashtable<List<Object>, Collection> containers = new Hashtable<List<Object>, Collection>();
+		int size = Math.min(batchSize, Integer.highestOneBit(owners.size() - 1) << 1);
+		ArrayList<String> args = new ArrayList<String>();
+		StringBuilder where = new StringBuilder(" WHERE ");
+		if(!id.isComplex()){
+			where.append(idColumns[0].getJoinColumName())
+			.append(" IN (");
+		}
+		try{
+			for(int i = 0; i < owners.size(); i++){
+				containers.put(id.getKeyFor(owners.get(i)), (Collection<?>)EntityMappers.newInstance(containerClass));
+			}
+			for(int i = 0; i < size; i++){
+				if(i > 0)
+					where.append(id.isComplex() ? " OR " : ",");
+				if(id.isComplex())
+					where.append("(").append(id.getParameterizedWhere(true)).append(")");
+				else
+					where.append("?");
+				id.addArgumentsFor(owners.get(Math.min(i, owners.size() - 1)), args);
+			}
+			if(!id.isComplex())
+				where.append(")");
 
-						table.load(cursor, new TravelingElementCollection(content));
-						container.add(content);
+			Cursor cursor = new SelectOrder(tName, where.toString(), args.toArray(new String[args.size()])).execute(db);
+			try{
+				int[] joinIndexes = new int[idColumns.length];
+				for(int i = 0; i < idColumns.length; i++){
+					joinIndexes[i] = cursor.getColumnIndex(idColumns[i].getJoinColumName());
+				}
+				int index = isBaseTypedCollection ? cursor.getColumnIndex(collectionField.getName()) : -1;
+				RowMapper mapper = isBaseTypedCollection ? null : table.getRowMapper(cursor);
+				while(cursor.moveToNext()){
+					Object[] key = new Object[idColumns.length];
+					for(int i = 0; i < idColumns.length; i++){
+						key[i] = idColumns[i].getSnapshotValue(idColumns[i].getAttribute().getCodec().read(cursor, joinIndexes[i]));
 					}
+					Collection container = containers.get(Arrays.asList(key));
+					if(container != null)
+						container.add(loadElement(cursor, index, mapper));
 				}
-				collectionSetter.invoke(o.getContent(), container);
+			}finally{
+				cursor.close();
+			}
+
+			for(int i = 0; i < owners.size(); i++){
+				TravelingEntity o = owners.get(i);
+				Collection container = containers.get(id.getKeyFor(o));
+				collectionAccessor.set(o.getContent(), container);
+				s.putCollectionSnapshot(o.getContent(), tName, readElements(container));
 			}
 		} catch (InstantiationException ie){
 			throw new RMappingException("error loading the elementCollection :" + collectionField.getName() + " for the entity " + entity.getTable().getTableName(), ie);
@@ -285,39 +601,248 @@ public class ElementCollection  extends AttributesContainer{
 			throw new RMappingException("error loading the elementCollection :" + collectionField.getName() + " for the entity " + entity.getTable().getTableName(), iae);
 		} catch (InvocationTargetException ite) {
 			throw new RMappingException("error loading the elementCollection :" + collectionField.getName() + " for the entity " + entity.getTable().getTableName(), ite);
-		}finally{
-			cursor.close();
 		}
 	}
 
+	/**
+	 * Loads one element of the collection from the current row of a cursor
+	 * @param cursor the cursor to read
+	 * @param index the index of the column holding the element of a base typed collection
+	 * @param mapper the mapper of the columns of the embeddable elements, <code>null</code> for a base typed collection
+	 * @return the element
+	 * @throws InstantiationException will be thrown if the embeddable element cannot be instantiated
+	 * @throws IllegalAccessException will be thrown if the constructor of the embeddable element is not accessible
+	 */
+	private Object loadElement(Cursor cursor, int index, RowMapper mapper) throws InstantiationException, IllegalAccessException{
+		if(isBaseTypedCollection)
+			return DBColumnFactory.readCursor(index, cursor, codec);
+		Object content = EntityMappers.newInstance(getImplementationClass());
+		Iterator<Embeddable> itE = embeddeds.iterator();
+		while (itE.hasNext()) {
+			itE.next().loadEmptyEntity(content);
+		}
+
+		if(sClass != null){
+			sClass.loadEmptyEntity(content);
+		}
+
+		table.load(mapper, cursor, new TravelingElementCollection(content));
+		return content;
+	}
+
 	/**
 	 * Saves the collection content of the passed entity
+	 * <p>
+	 * If the content has been loaded or saved by the session only the removed and the added elements are written, nothing is written
+	 * if the content is unchanged. Otherwise all the rows of the entity are replaced, and the saved content is kept by the session
+	 * for the next saves.
+	 * <p>
+	 * A lazy collection which has not been loaded yet is left unchanged.
+	 * @param session the session calling the save
 	 * @param db the database
 	 * @param o the entity containing the collection content to save
 	 */
-	public void save(SQLiteDatabase db, TravelingEntity o){
-		delete(db, o);
-		Object relationContent = getObject(o.getContent());
-		if(relationContent instanceof Collection){
-			Object[] content = ((Collection<?>)relationContent).toArray();
-			for(int i = 0; i < content.length; i++){
-				Object oC = content[i];
-				// TODO CLEAN THIS
-				IInsertOrder or = table.getInsertOrder();
-				if(isBaseTypedCollection){
-					or.addColumn(collectionField.getName(), DBColumnFactory.getDecorator(getImplementationClass()).decorate(oC));
-					IDBColumn[] idCOlumns = id.getColumns();
-					for (int j = 0; j < idCOlumns.length; j++) {
-						or.addColumn(idCOlumns[j].getJoinColumName(), idCOlumns[j].getValue(idCOlumns[j].getAttribute().getTarget(o)));
-					}
-				}else{
-					IDBColumn[] idCOlumns = id.getColumns();
-					for (int j = 0; j < idCOlumns.length; j++) {
-						or.addColumn(idCOlumns[j].getJoinColumName(), idCOlumns[j].getValue(idCOlumns[j].getAttribute().getTarget(o)));
+	public void save(Session session, SQLiteDatabase db, TravelingEntity o){
+		Object content = getObject(o.getContent());
+		if(content instanceof ILazyCollection && !((ILazyCollection)content).isInitialized())
+			return;
+		ArrayList<List<Object>> current = readElements(content);
+		ArrayList<List<Object>> loaded = session.getCollectionSnapshot(o.getContent(), tName);
+		if(loaded == null){
+			delete(db, o);
+			insert(db, o, current);
+			session.putCollectionSnapshot(o.getContent(), tName, current);
+			return;
+		}
+
+		Hashtable<List<Object>, Integer> remaining = new Hashtable<List<Object>, Integer>();
+		for(int i = 0; i < loaded.size(); i++){
+			Integer count = remaining.get(loaded.get(i));
+			remaining.put(loaded.get(i), count == null ? 1 : count + 1);
+		}
+		Hashtable<List<Object>, Integer> kept = new Hashtable<List<Object>, Integer>();
+		ArrayList<List<Object>> added = new ArrayList<List<Object>>();
+		for(int i = 0; i < current.size(); i++){
+			List<Object> element = current.get(i);
+			Integer count = remaining.get(element);
+			if(count != null && count > 0){
+				remaining.put(element, count - 1);
+				Integer k = kept.get(element);
+				kept.put(element, k == null ? 1 : k + 1);
+			}else{
+				added.add(element);
+			}
+		}
+
+		Iterator<Map.Entry<List<Object>, Integer>> it = remaining.entrySet().iterator();
+		while (it.hasNext()) {
+			Map.Entry<List<Object>, Integer> entry = it.next();
+			if(entry.getValue() == 0)
+				continue;
+			// Identical rows cannot be told apart, the kept ones are deleted and inserted again
+			delete(db, o, entry.getKey());
+			Integer k = kept.get(entry.getKey());
+			for(int i = 0; k != null && i < k; i++){
+				added.add(entry.getKey());
+			}
+		}
+		insert(db, o, added);
+		session.putCollectionSnapshot(o.getContent(), tName, current);
+	}
+
+	/**
+	 * Returns the names of the columns holding the content of the collection elements
+	 * @return the column names
+	 */
+	private String[] getContentColumns(){
+		if(isBaseTypedCollection)
+			return new String[]{collectionField.getName()};
+		ArrayList<Attribute> attributes = table.getInsertableAttributes();
+		String[] result = new String[attributes.size()];
+		for(int i = 0; i < result.length; i++){
+			result[i] = attributes.get(i).getDBName();
+		}
+		return result;
+	}
+
+	/**
+	 * Reads the content of all the elements of a collection
+	 * @param collection the collection
+	 * @return the values to store for each element, in the order of the content columns
+	 */
+	private ArrayList<List<Object>> readElements(Object collection){
+		ArrayList<List<Object>> result = new ArrayList<List<Object>>();
+		if(collection instanceof Collection){
+			Iterator<?> it = ((Collection<?>)collection).iterator();
+			while (it.hasNext()) {
+				result.add(readElement(it.next()));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Reads the content of a collection element
+	 * @param element the element
+	 * @return the values to store for the element, in the order of the content columns
+	 */
+	private List<Object> readElement(Object element){
+		if(isBaseTypedCollection){
+			Object value = element instanceof Date ? Long.valueOf(((Date)element).getTime()) : element;
+			return Arrays.asList(value);
+		}
+		ArrayList<Attribute> attributes = table.getInsertableAttributes();
+		Object[] values = new Object[attributes.size()];
+		for(int i = 0; i < values.length; i++){
+			Attribute f = attributes.get(i);
+			IDBColumn column = f.getDBColumn();
+			values[i] = column.getSnapshotValue(column.readValue(f.getTarget(element)));
+		}
+		return Arrays.asList(values);
+	}
+
+	/**
+	 * Binds the content of a collection element to the parameters of a statement
+	 * @param st the compiled statement
+	 * @param index the index of the first parameter to bind
+	 * @param element the values of the element
+	 * @return the index of the next parameter to bind
+	 */
+	private int bindElement(SQLiteStatement st, int index, List<Object> element){
+		if(isBaseTypedCollection){
+			DBColumnFactory.bindValue(st, index++, element.get(0));
+		}else{
+			ArrayList<Attribute> attributes = table.getInsertableAttributes();
+			for(int i = 0; i < element.size(); i++){
+				attributes.get(i).getDBColumn().bindValue(st, index++, element.get(i));
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * Inserts collection elements for the given entity using multi rows inserts
+	 * <p>
+	 * The elements are grouped by <code>null</code> columns, as the columns without value are left
+	 * out of the insert to let the database apply their default.
+	 * @param db the database
+	 * @param o the entity referencing the elements
+	 * @param elements the values of the elements to insert
+	 */
+	private void insert(SQLiteDatabase db, TravelingEntity o, ArrayList<List<Object>> elements){
+		if(elements.isEmpty())
+			return;
+		LinkedHashMap<BitSet, ArrayList<List<Object>>> groups = new LinkedHashMap<BitSet, ArrayList<List<Object>>>();
+		for(int i = 0; i < elements.size(); i++){
+			List<Object> element = elements.get(i);
+			BitSet mask = new BitSet();
+			for(int j = 0; j < element.size(); j++){
+				if(element.get(j) != null)
+					mask.set(j);
+			}
+			ArrayList<List<Object>> group = groups.get(mask);
+			if(group == null){
+				group = new ArrayList<List<Object>>();
+				groups.put(mask, group);
+			}
+			group.add(element);
+		}
+
+		String[] columns = getContentColumns();
+		IDBColumn[] idCOlumns = id.getColumns();
+		Iterator<Map.Entry<BitSet, ArrayList<List<Object>>>> it = groups.entrySet().iterator();
+		while (it.hasNext()) {
+			Map.Entry<BitSet, ArrayList<List<Object>>> group = it.next();
+			BitSet mask = group.getKey();
+			int parameters = mask.cardinality() + idCOlumns.length;
+			int rowsByInsert = Math.min(SqlTools.MAX_COMPOUND_SELECTS, SqlTools.MAX_PARAMETERS / parameters);
+			ArrayList<List<Object>> rows = group.getValue();
+			for(int from = 0; from < rows.size(); from += rowsByInsert){
+				int to = Math.min(rows.size(), from + rowsByInsert);
+				StringBuilder strb = new StringBuilder("INSERT INTO ")
+				.append(tName)
+				.append(" (");
+				for(int j = mask.nextSetBit(0); j >= 0; j = mask.nextSetBit(j + 1)){
+					strb.append(columns[j]).append(",");
+				}
+				for(int j = 0; j < idCOlumns.length; j++){
+					strb.append(idCOlumns[j].getJoinColumName());
+					if(j + 1 < idCOlumns.length)
+						strb.append(",");
+				}
+				strb.append(")");
+				// INSERT ... SELECT ... UNION ALL, multi rows VALUES are not supported by older SQLite versions
+				StringBuilder row = new StringBuilder(" SELECT ");
+				for(int j = 0; j < parameters; j++){
+					row.append(j + 1 < parameters ? "?," : "?");
+				}
+				for(int r = from; r < to; r++){
+					strb.append(row);
+					if(r + 1 < to)
+						strb.append(" UNION ALL");
+				}
+
+				synchronized (table) {
+					boolean full = to - from == rowsByInsert;
+					CompiledStatement cs = table.getChunkStatement(db, strb.toString(), full);
+					try{
+						SQLiteStatement st = cs.getStatement();
+						int index = 1;
+						for(int r = from; r < to; r++){
+							List<Object> element = rows.get(r);
+							for(int j = mask.nextSetBit(0); j >= 0; j = mask.nextSetBit(j + 1)){
+								if(isBaseTypedCollection)
+									DBColumnFactory.bindValue(st, index++, element.get(j));
+								else
+									table.getInsertableAttributes().get(j).getDBColumn().bindValue(st, index++, element.get(j));
+							}
+							index = id.bindWhereFor(st, index, o);
+						}
+						cs.executeInsert();
+					}finally{
+						table.releaseChunkStatement(cs, full);
 					}
-					or.fill(new TravelingElementCollection(oC));
 				}
-				or.execute(db);
 			}
 		}
 	}
@@ -329,27 +854,73 @@ public class ElementCollection  extends AttributesContainer{
 	 */
 	private Object getObject(Object o){
 		try {
-			return collectionGetter.invoke(o instanceof TravelingEntity ? ((TravelingEntity)o).getContent() : o);
+			return collectionAccessor.get(o instanceof TravelingEntity ? ((TravelingEntity)o).getContent() : o);
 		} catch (Exception e1) {
 			throw new RMappingException("error invoking :" + collectionGetter.getName() + " for the field " +  collectionField.getName(), e1);
 		}
 	}
 
+	/**
+	 * Deletes the collection content of an entity which has been deleted
+	 * <p>
+	 * Nothing is done if the database already deleted the content on cascade
+	 * @param db the database
+	 * @param o the deleted entity
+	 */
+	protected void deleteFor(SQLiteDatabase db, TravelingEntity o){
+		if(!isCascading(db))
+			delete(db, o);
+	}
+
 	/**
 	 * Deletes the collection content for the given entity
 	 * @param db the database
 	 * @param o the entity referencing the collection content to delete
 	 */
 	private void delete(SQLiteDatabase db, TravelingEntity o){
-		SqlTools.delete(db, tName,id.getJoinWhereFor(o));
-		removeOrphans(db);
+		String sql = "DELETE FROM " + tName + " WHERE" + id.getParameterizedWhere(true);
+		synchronized (table) {
+			CompiledStatement cs = table.getStatement(db, sql);
+			id.bindWhereFor(cs.getStatement(), 1, o);
+			cs.executeUpdateDelete();
+		}
+	}
+
+	/**
+	 * Deletes all the rows of a collection element for the given entity
+	 * @param db the database
+	 * @param o the entity referencing the collection element to delete
+	 * @param element the values of the element to delete
+	 */
+	private void delete(SQLiteDatabase db, TravelingEntity o, List<Object> element){
+		StringBuilder strb = new StringBuilder("DELETE FROM ")
+		.append(tName)
+		.append(" WHERE")
+		.append(id.getParameterizedWhere(true));
+		String[] columns = getContentColumns();
+		for(int i = 0; i < columns.length; i++){
+			// IS matches NULL values as well
+			strb.append(" AND ")
+			.append(columns[i])
+			.append(" IS ?");
+		}
+		synchronized (table) {
+			CompiledStatement cs = table.getStatement(db, strb.toString());
+			SQLiteStatement st = cs.getStatement();
+			bindElement(st, id.bindWhereFor(st, 1, o), element);
+			cs.executeUpdateDelete();
+		}
 	}
 
 	/**
 	 * Removes all orphans which are not anymore referenced by an entity
+	 * <p>
+	 * Nothing is done if the database deletes the content on cascade
 	 * @param db the database
 	 */
 	protected void removeOrphans(SQLiteDatabase db){
+		if(isCascading(db))
+			return;
 		if(!id.isComplex()){
 			IDBColumn idColumn = id.getColumns()[0];
 			SqlTools.removeOrphans(db, tName, idColumn.getJoinColumName() , idColumn , entity);
@@ -383,7 +954,9 @@ public class ElementCollection  extends AttributesContainer{
 	 * @return the select order
 	 */
 	private SelectOrder buildSelectOrder(TravelingEntity o){
-		SelectOrder order = new SelectOrder(tName, " WHERE " + id.getJoinWhereFor(o));
+		ArrayList<String> args = new ArrayList<String>();
+		id.addArgumentsFor(o, args);
+		SelectOrder order = new SelectOrder(tName, " WHERE" + id.getParameterizedWhere(true), args.toArray(new String[args.size()]));
 
 		return order;
 	}
@@ -22,6 +22,8 @@ import java.lang.reflect.Method;
 import java.util.Iterator;
 
 import gb.aliteorm.lib.annotation.ALiteEmbeddable;
+import gb.aliteorm.lib.mapper.EntityMappers;
+import gb.aliteorm.lib.mapper.PropertyAccessor;
 import gb.aliteorm.lib.tools.ReflectionTools;
 
 /**
@@ -51,6 +53,7 @@ import gb.aliteorm.lib.tools.ReflectionTools;
 public class Embeddable extends AttributesContainer{
 
 	private Method m;
+	private PropertyAccessor accessor;
 	private java.lang.reflect.Field embeddedFiel;
 
 	private boolean isId = false;
@@ -67,6 +70,7 @@ public class Embeddable extends AttributesContainer{
 		this.isId = isId;
 		this.m = m;
 		this.m.setAccessible(true);
+		accessor = new PropertyAccessor(m);
 
 		checkAnnotation();
 		try{
@@ -96,7 +100,7 @@ public class Embeddable extends AttributesContainer{
 	 */
 	protected void loadEmptyEntity(Object o){
 		try{
-			Object result = getImplementationClass().newInstance();
+			Object result = EntityMappers.newInstance(getImplementationClass());
 
 			Iterator<Embeddable> itE = embeddeds.iterator();
 			while (itE.hasNext()) {
@@ -105,15 +109,11 @@ public class Embeddable extends AttributesContainer{
 			if(sClass != null){
 				sClass.loadEmptyEntity(result);
 			}
-			Method setterForEmbeddedContent = ReflectionTools.getSetter(m);
-			setterForEmbeddedContent.setAccessible(true);
-			setterForEmbeddedContent.invoke(o, result);
+			accessor.set(o, result);
 		}catch(InstantiationException e){
 			throw new RuntimeException("Cannot instanciate " + getImplementationClass(), e);
 		} catch (IllegalAccessException e) {
 			throw new RuntimeException("Cannot set the embedded content " + getImplementationClass(), e);
-		} catch(NoSuchMethodException e) {
-			throw new RuntimeException("Cannot set the embedded content " + getImplementationClass(), e);
 		} catch(InvocationTargetException e){
 			throw new RuntimeException("Cannot set the embedded content " + getImplementationClass(), e);
 		}
@@ -125,7 +125,7 @@ public class Embeddable extends AttributesContainer{
 			try {
 				Object t = getParent().getTarget(o instanceof TravelingEntity ? ((TravelingEntity)o).getContent() : o);
 				if( t!= null)
-					return m.invoke(t);
+					return accessor.get(t);
 			} catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
 				throw new RuntimeException("Cannot invoke the method "+ m.getName() + " on " + getImplementationClass(), e);
 			}
@@ -24,6 +24,8 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Hashtable;
 import java.util.Iterator;
 import java.util.List;
@@ -33,6 +35,7 @@ import gb.aliteorm.lib.annotation.ALiteAttributeOverrides;
 import gb.aliteorm.lib.annotation.ALiteElementCollection;
 import gb.aliteorm.lib.annotation.ALiteEmbedded;
 import gb.aliteorm.lib.annotation.ALiteEmbeddedId;
+import gb.aliteorm.lib.annotation.ALiteCacheable;
 import gb.aliteorm.lib.annotation.ALiteEntity;
 import gb.aliteorm.lib.annotation.ALiteEntityListeners;
 import gb.aliteorm.lib.annotation.ALiteExcludeGlobalListeners;
@@ -44,6 +47,8 @@ import gb.aliteorm.lib.annotation.ALitePostUpdate;
 import gb.aliteorm.lib.annotation.ALitePrePersist;
 import gb.aliteorm.lib.annotation.ALitePreRemove;
 import gb.aliteorm.lib.annotation.ALitePreUpdate;
+import gb.aliteorm.lib.annotation.SaveMode;
+import gb.aliteorm.lib.exception.RDeletedInstanceException;
 import gb.aliteorm.lib.exception.RMoreThanOneIdException;
 import gb.aliteorm.lib.exception.RNoEntityException;
 import gb.aliteorm.lib.exception.RNoIdException;
@@ -53,9 +58,14 @@ import gb.aliteorm.lib.exception.RWrongAutoIncrementTypeException;
 import gb.aliteorm.lib.impl.columns.DBColumnFactory;
 import gb.aliteorm.lib.impl.columns.DBColumnInt;
 import gb.aliteorm.lib.impl.columns.IDBColumn;
+import gb.aliteorm.lib.mapper.EntityMappers;
+import gb.aliteorm.lib.query.impl.Assignment;
 import gb.aliteorm.lib.query.impl.Criteria;
 import gb.aliteorm.lib.query.impl.ISqlString;
+import gb.aliteorm.lib.query.impl.ProjAggregate;
 import gb.aliteorm.lib.query.impl.ProjAttribute;
+import gb.aliteorm.lib.query.impl.ProjGroup;
+import gb.aliteorm.lib.query.impl.Projection;
 import gb.aliteorm.lib.query.impl.SqlTools;
 import gb.aliteorm.lib.tools.ALiteOrmBuilder;
 import gb.aliteorm.lib.tools.CallBackTools;
@@ -101,6 +111,7 @@ public class Entity  extends AttributesContainer{
 	private ArrayList<EntityListener> externalsCallbacks;
 	private boolean excludeSessionListener = false, excludeGlobalListener = false;
 	private Hashtable<String, Cursor> cursors = new Hashtable<String, Cursor>();
+	private EntityCache cache = null;
 
 	/**
 	 * Creates a new entity
@@ -206,6 +217,19 @@ public class Entity  extends AttributesContainer{
 		if(ann != null){
 			excludeSessionListener = true;
 		}
+
+		ann = getImplementationClass().getAnnotation(ALiteCacheable.class);
+		if(ann != null){
+			cache = new EntityCache(((ALiteCacheable)ann).maxEntries());
+		}
+	}
+
+	/**
+	 * Returns the cache shared by the sessions for the instances of this entity
+	 * @return the cache, <code>null</code> if the entity is not annotated with <code>@ALiteCacheable</code>
+	 */
+	public EntityCache getCache(){
+		return cache;
 	}
 
 	/**
@@ -307,15 +331,59 @@ public class Entity  extends AttributesContainer{
 	 * @return the number of instances
 	 */
 	public int countAll(SQLiteDatabase db){
-		String sql = String.format(ISqlString.COUNT_SQL, table.getTableName());
-		if(ALiteOrmBuilder.getInstance().isShowSQL())
-			Log.d(ILogPrefix.SQL_LOG, sql);
+		return SqlTools.countAll(db, table.getTableName());
+	}
 
-		Cursor cur = db.rawQuery(sql, new String[] {});
-		if (cur != null && cur.moveToFirst()) {
-			return cur.getInt(0);
-		}
-		return 0;
+	/**
+	 * Counts the rows selected by a criteria, without loading them
+	 * <p>
+	 * The orders, the limit and the offset of the criteria are ignored. The rows of a criteria with projections
+	 * are counted as they would be listed, one row for each group of an aggregated projection.
+	 *
+	 * @param criteria the criteria for the selection
+	 * @param db the database
+	 * @return the number of rows
+	 */
+	public long count(Criteria criteria, SQLiteDatabase db){
+		String from = table.getTableName() + " " + criteria.getSql(false, false, false);
+		String sql;
+		if(criteria.hasPojections())
+			sql = String.format(ISqlString.COUNT_SUB_SQL, criteria.getSelect() + from);
+		else
+			sql = String.format(ISqlString.COUNT_SQL, from);
+		return SqlTools.queryForLong(db, sql, criteria.getArguments());
+	}
+
+	/**
+	 * Indicates if a criteria selects at least one row, without loading it
+	 *
+	 * @param criteria the criteria for the selection
+	 * @param db the database
+	 * @return <code>true</code> if a row matches the criteria, otherwise <code>false</code>
+	 */
+	public boolean exists(Criteria criteria, SQLiteDatabase db){
+		String sql = String.format(ISqlString.EXISTS_SQL, table.getTableName(), criteria.getSql(false, false, false));
+		return SqlTools.queryForLong(db, sql, criteria.getArguments()) == 1;
+	}
+
+	/**
+	 * Calls the <code>@ALitePreRemove</code> callbacks of an instance which is going to be deleted
+	 * 
+	 * @param session the session calling the delete
+	 * @param e the instance to delete
+	 */
+	public void preRemove(Session session, TravelingEntity e){
+		runCallBack(session, ALitePreRemove.class, e);
+	}
+
+	/**
+	 * Calls the <code>@ALitePostRemove</code> callbacks of an instance which has been deleted
+	 * 
+	 * @param session the session calling the delete
+	 * @param e the deleted instance
+	 */
+	public void postRemove(Session session, TravelingEntity e){
+		runCallBack(session, ALitePostRemove.class, e);
 	}
 
 	/**
@@ -328,10 +396,155 @@ public class Entity  extends AttributesContainer{
 	 * @param e the instance to delete
 	 */
 	public void delete(Session session, SQLiteDatabase db, TravelingEntity e){
-		runCallBack(session, ALitePreRemove.class, e);
+		preRemove(session, e);
+		remove(session, db, e);
+		postRemove(session, e);
+	}
+
+	/**
+	 * Deletes an instance into the table mapped with this entity without calling its callbacks
+	 * <p>
+	 * The instance is evicted from the session once all its rows have been deleted.
+	 * <p>
+	 * This operation cascades to associated instances
+	 * 
+	 * @param session the session calling the delete
+	 * @param db the database
+	 * @param e the instance to delete
+	 * @see #preRemove(Session, TravelingEntity)
+	 * @see #postRemove(Session, TravelingEntity)
+	 */
+	public void remove(Session session, SQLiteDatabase db, TravelingEntity e){
 		table.getDeleteOrder().fill(e).execute(db);
+		if(cache != null)
+			cache.remove(id.getKeyFor(e));
+		invalidateQueries(session);
+		Iterator<ElementCollection> it = elementCollections.iterator();
+		while (it.hasNext()) {
+			it.next().deleteFor(db, e);
+		}
+		session.evict(e.getContent());
+	}
+
+	/**
+	 * Deletes a list of instances into the table mapped with this entity
+	 * <p>
+	 * The instances are deleted by batches of ids and the orphans are removed once for the whole list.
+	 * <p>
+	 * This operation cascades to associated instances
+	 * 
+	 * @param session the session calling the delete
+	 * @param db the database
+	 * @param es the instances to delete
+	 */
+	public void delete(Session session, SQLiteDatabase db, List<TravelingEntity> es){
+		Iterator<TravelingEntity> it = es.iterator();
+		while (it.hasNext()) {
+			preRemove(session, it.next());
+		}
+		remove(session, db, es);
+		it = es.iterator();
+		while (it.hasNext()) {
+			postRemove(session, it.next());
+		}
+	}
+
+	/**
+	 * Deletes a list of instances into the table mapped with this entity without calling their callbacks
+	 * <p>
+	 * The instances are deleted by batches of ids and the orphans are removed once for the whole list, then
+	 * the instances are evicted from the session.
+	 * <p>
+	 * This operation cascades to associated instances
+	 * 
+	 * @param session the session calling the delete
+	 * @param db the database
+	 * @param es the instances to delete
+	 * @see #preRemove(Session, TravelingEntity)
+	 * @see #postRemove(Session, TravelingEntity)
+	 */
+	public void remove(Session session, SQLiteDatabase db, List<TravelingEntity> es){
+		ArrayList<Object> ids = new ArrayList<Object>();
+		Iterator<TravelingEntity> it = es.iterator();
+		while (it.hasNext()) {
+			TravelingEntity e = it.next();
+			if(id.isComplex()){
+				ids.add(id.extractId(e).getContent());
+			}else{
+				IDBColumn idColumn = id.getColumns()[0];
+				ids.add(idColumn.readValue(idColumn.getAttribute().getTarget(e.getContent())));
+			}
+		}
+		deleteByIds(db, ids);
 		removeOrphans(db);
-		runCallBack(session, ALitePostRemove.class, e);
+		it = es.iterator();
+		while (it.hasNext()) {
+			TravelingEntity e = it.next();
+			session.evict(e.getContent());
+			if(cache != null)
+				cache.remove(id.getKeyFor(e));
+		}
+		invalidateQueries(session);
+	}
+
+	/**
+	 * Deletes the instances corresponding to the given ids into the table mapped with this entity
+	 * <p>
+	 * The orphans are removed once for all the ids.
+	 * <p>
+	 * This operation cascades to associated instances, it won't trigger callback listeners
+	 * 
+	 * @param db the database
+	 * @param ids the values of the simple ids or the instances of the complex ids
+	 */
+	public void deleteAll(SQLiteDatabase db, Collection<?> ids){
+		deleteByIds(db, new ArrayList<Object>(ids));
+		removeOrphans(db);
+		if(cache != null)
+			cache.clear();
+		invalidateQueries();
+	}
+
+	/**
+	 * Deletes the rows corresponding to the given ids
+	 * <p>
+	 * Simple ids are deleted using chunks of "IN" clauses, complex ids are deleted one by one
+	 * with the same compiled statement
+	 * 
+	 * @param db the database
+	 * @param ids the values of the simple ids or the instances of the complex ids
+	 */
+	private void deleteByIds(SQLiteDatabase db, ArrayList<Object> ids){
+		if(ids.isEmpty())
+			return;
+		synchronized (table) {
+			if(id.isComplex()){
+				CompiledStatement cs = table.getStatement(db, "DELETE FROM " + table.getTableName() + " WHERE" + id.getParameterizedWhere(false));
+				for(int i = 0; i < ids.size(); i++){
+					id.bindWhereOn(cs.getStatement(), 1, ids.get(i));
+					cs.executeUpdateDelete();
+				}
+			}else{
+				String prefix = "DELETE FROM " + table.getTableName() + " WHERE " + id.getColumns()[0].getAttribute().getDBName() + " IN (";
+				for(int from = 0; from < ids.size(); from += SqlTools.MAX_PARAMETERS){
+					int to = Math.min(ids.size(), from + SqlTools.MAX_PARAMETERS);
+					StringBuilder strb = new StringBuilder(prefix);
+					for(int i = from; i < to; i++){
+						strb.append(i + 1 < to ? "?," : "?)");
+					}
+					boolean full = to - from == SqlTools.MAX_PARAMETERS;
+					CompiledStatement cs = table.getChunkStatement(db, strb.toString(), full);
+					try{
+						for(int i = from; i < to; i++){
+							id.bindWhereOn(cs.getStatement(), i - from + 1, ids.get(i));
+						}
+						cs.executeUpdateDelete();
+					}finally{
+						table.releaseChunkStatement(cs, full);
+					}
+				}
+			}
+		}
 	}
 
 	/**
@@ -347,12 +560,19 @@ public class Entity  extends AttributesContainer{
 			Log.d(ILogPrefix.SQL_LOG, sql);
 		db.execSQL(sql);
 		removeOrphans(db);
+		if(cache != null)
+			cache.clear();
+		invalidateQueries();
 	}
 
 	/**
 	 * Lists instances from the table mapped with this entity for a given criteria
 	 * <p>
-	 * This operation cascades to associated instances
+	 * This operation cascades to associated instances, the element collections of the listed
+	 * instances are loaded by batches of <code>ALiteOrmBuilder.getCollectionBatchSize()</code> instances
+	 * <p>
+	 * The rows of a cacheable criteria are taken from the query cache when they are found, otherwise they are put
+	 * into the cache. The cache is only filled outside of the transactions, with rows which cannot be rolled back.
 	 * 
 	 * @param session the session calling the list
 	 * @param criteria the criteria for the selection
@@ -361,19 +581,187 @@ public class Entity  extends AttributesContainer{
 	 * @return the instances corresponding to the criteria for the selection
 	 */
 	public List<Object> list(Session session, Criteria criteria, SQLiteDatabase db, boolean includeRelated){
+		if(criteria.isCacheable() && !criteria.hasAggregatedPojections())
+			return listCached(session, criteria, db, includeRelated);
 		Cursor cursor = getCursor(criteria, db);
 		if(criteria.hasPojections()){
 			return loadProjection(criteria, session, db, cursor, includeRelated);
 		}else{
-			ArrayList<Object> resultList = new ArrayList<Object>();
-			if (cursor.moveToFirst()) {
-				do {
-					resultList.add(loadEntity(session, db, cursor, includeRelated).getContent());
-				} while (cursor.moveToNext());
+			ArrayList<TravelingEntity> read = new ArrayList<TravelingEntity>();
+			try{
+				if (cursor.moveToFirst()) {
+					RowMapper mapper = table.getRowMapper(cursor);
+					do {
+						read.add(readEntity(cursor, mapper));
+					} while (cursor.moveToNext());
+				}
+			}finally{
+				cursor.close();
 			}
+			return loadEntities(session, db, read, includeRelated);
+		}
+	}
+
+	/**
+	 * Loads the first instance or projected result selected by a criteria
+	 * <p>
+	 * Only the first row is loaded, when the result must be unique the second row is only reached to check
+	 * that it doesn't exist. The limit of the criteria must be set by the caller.
+	 * <p>
+	 * This operation cascades to associated instances
+	 *
+	 * @param session the session calling the load
+	 * @param criteria the criteria for the selection
+	 * @param db the database
+	 * @param unique indicates if the criteria must select at most one row
+	 * @return the instance or the projected result, <code>null</code> if no row matches the criteria
+	 * @throws RNonUniqueResultException will be thrown if the result must be unique and more than one row matches the criteria
+	 */
+	public Object uniqueResult(Session session, Criteria criteria, SQLiteDatabase db, boolean unique) throws RNonUniqueResultException{
+		if(criteria.isCacheable() || criteria.hasAggregatedPojections()){
+			List<Object> l = list(session, criteria, db, true);
+			if(unique && l.size() > 1)
+				throw new RNonUniqueResultException("For : " + getImplementationClass().getName());
+			return l.isEmpty() ? null : l.get(0);
+		}
+		Cursor cursor = getCursor(criteria, db);
+		try{
+			if(!cursor.moveToFirst())
+				return null;
+			if(unique && cursor.moveToNext())
+				throw new RNonUniqueResultException("For : " + getImplementationClass().getName());
+			cursor.moveToFirst();
+			return loadRow(session, criteria, db, cursor, getRowMapper(criteria, cursor), true);
+		}finally{
 			cursor.close();
+		}
+	}
+
+	/**
+	 * Lists instances or projected results for a cacheable criteria, using the query cache
+	 * 
+	 * @param session the session calling the list
+	 * @param criteria the criteria for the selection
+	 * @param db the database
+	 * @param includeRelated indicates id the related content must be loaded or not
+	 * @return the instances or the projected results corresponding to the criteria for the selection
+	 */
+	private List<Object> listCached(Session session, Criteria criteria, SQLiteDatabase db, boolean includeRelated){
+		QueryCache queryCache = ALiteOrmBuilder.getInstance().getQueryCache();
+		SelectOrder order = new SelectOrder(this, criteria);
+		// The projected values without implementation class are not read as the attribute values
+		boolean values = !criteria.hasPojections() || criteria.getImplementationClass() != null;
+		List<Object> key = Arrays.asList((Object)order.getSql(), Arrays.asList(order.getArguments()), values);
+		QueryCache.CachedQuery cached = queryCache.get(key);
+		if(cached == null){
+			long version = queryCache.getVersion(table.getTableName());
+			Cursor cursor = order.execute(db);
+			try{
+				RowMapper mapper = getRowMapper(criteria, cursor);
+				ArrayList<Object[]> rows = new ArrayList<Object[]>();
+				while(cursor.moveToNext()){
+					rows.add(values ? mapper.readValues(cursor) : mapper.read(cursor));
+				}
+				cached = new QueryCache.CachedQuery(table.getTableName(), version, mapper, rows);
+			}finally{
+				cursor.close();
+			}
+			if(!db.inTransaction())
+				queryCache.put(key, cached);
+		}
+
+		RowMapper mapper = cached.getMapper();
+		List<Object[]> rows = cached.getRows();
+		if(criteria.hasPojections()){
+			ArrayList<Object> resultList = new ArrayList<Object>(rows.size());
+			for(int i = 0; i < rows.size(); i++){
+				if(!values){
+					resultList.add(new ArrayList<Object>(Arrays.asList(rows.get(i))));
+					continue;
+				}
+				try{
+					Object result = EntityMappers.newInstance(criteria.getImplementationClass().getImplementationClass());
+					mapper.loadMock(rows.get(i), result);
+					resultList.add(result);
+				}catch(InstantiationException e){
+					throw new RuntimeException("Cannot instanciate " + criteria.getImplementationClass().getImplementationClass().getName(), e);
+				}catch(IllegalAccessException e){
+					throw new RuntimeException("Cannot instanciate " + criteria.getImplementationClass().getImplementationClass().getName(), e);
+				}
+			}
 			return resultList;
 		}
+		ArrayList<TravelingEntity> read = new ArrayList<TravelingEntity>(rows.size());
+		for(int i = 0; i < rows.size(); i++){
+			TravelingEntity o = loadEmptyEntity();
+			mapper.load(rows.get(i), o.getContent());
+			read.add(o);
+		}
+		return loadEntities(session, db, read, includeRelated);
+	}
+
+	/**
+	 * Loads listed instances of this entity which have been read without their related content
+	 * <p>
+	 * The instances already known by the session are replaced by the known ones, left unchanged.
+	 * <p>
+	 * This operation cascades to associated instances, the element collections are loaded by batches
+	 * of <code>ALiteOrmBuilder.getCollectionBatchSize()</code> instances
+	 * 
+	 * @param session the session calling the list
+	 * @param db the database
+	 * @param read the read instances
+	 * @param includeRelated indicates id the related content must be loaded or not
+	 * @return the loaded instances
+	 */
+	private List<Object> loadEntities(Session session, SQLiteDatabase db, List<TravelingEntity> read, boolean includeRelated){
+		ArrayList<Object> resultList = new ArrayList<Object>(read.size());
+		ArrayList<TravelingEntity> loaded = new ArrayList<TravelingEntity>();
+		ArrayList<TravelingEntity> known = new ArrayList<TravelingEntity>();
+		for(int i = 0; i < read.size(); i++){
+			TravelingEntity o = read.get(i);
+			Object k = session.getIdentity(getIdentityKey(o));
+			if(k != null){
+				known.add(new TravelingEntity(k));
+				resultList.add(k);
+			}else{
+				attach(session, o);
+				loaded.add(o);
+				resultList.add(o.getContent());
+			}
+		}
+
+		if(includeRelated && !loaded.isEmpty()){
+			Iterator<ElementCollection> itEc = elementCollections.iterator();
+			while (itEc.hasNext()) {
+				itEc.next().load(session, db, loaded);
+			}
+		}
+		if(includeRelated){
+			for(int i = 0; i < known.size(); i++){
+				loadMissingRelated(session, db, known.get(i));
+			}
+		}
+
+		for(int i = 0; i < loaded.size(); i++){
+			runCallBack(session, ALitePostLoad.class, loaded.get(i));
+		}
+		return resultList;
+	}
+
+	/**
+	 * Scrolls the instances from the table mapped with this entity for a given criteria
+	 * <p>
+	 * Each row is loaded only when it's reached by the returned result
+	 *
+	 * @param session the session calling the scroll
+	 * @param criteria the criteria for the selection
+	 * @param db the database
+	 * @param includeRelated indicates id the related content must be loaded or not
+	 * @return the result, to close once used
+	 */
+	public ScrollableResult scroll(Session session, Criteria criteria, SQLiteDatabase db, boolean includeRelated){
+		return new ScrollableResult(session, this, criteria, db, getCursor(criteria, db), includeRelated);
 	}
 
 	/**
@@ -400,11 +788,40 @@ public class Entity  extends AttributesContainer{
 	public void delete(Session session, Criteria criteria, SQLiteDatabase db){
 		new DeleteOrder(this, criteria).execute(db);
 		removeOrphans(db);
+		session.evictAll(getImplementationClass());
+		if(cache != null)
+			cache.clear();
+		invalidateQueries(session);
+	}
+
+	/**
+	 * Updates instances from the table mapped with this entity for a given criteria
+	 * <p>
+	 * The instances are updated by a single SQL sentence without being loaded, this operation
+	 * won't trigger callback listeners. The instances of this entity known by the session are evicted.
+	 * 
+	 * @param session the session calling the update
+	 * @param criteria the criteria for the update
+	 * @param db the database
+	 * @param assignments the new values of the updated attributes
+	 * @return the number of updated instances
+	 */
+	public int update(Session session, Criteria criteria, SQLiteDatabase db, Assignment... assignments){
+		int updated = new UpdateOrder(this, criteria, assignments).execute(db);
+		session.evictAll(getImplementationClass());
+		if(cache != null)
+			cache.clear();
+		invalidateQueries(session);
+		return updated;
 	}
 
 	/**
 	 * Loads an instance of this entity corresponding to the given id
 	 * <p>
+	 * If the session already knows an instance for this id it's returned without querying the database, otherwise
+	 * the columns of a cacheable entity are taken from its cache when they are found. The cache is only filled outside
+	 * of the transactions, with values which cannot be rolled back.
+	 * <p>
 	 * This operation cascades to associated instances 
 	 * 
 	 * @param session the session calling the load
@@ -416,6 +833,22 @@ public class Entity  extends AttributesContainer{
 	 * @throws RNoResultException will be thrown if there is no instance/row for the given id
 	 */
 	public Object load(Session session, SQLiteDatabase db, TravelingId id, boolean includeRelated) throws RNonUniqueResultException, RNoResultException{
+		Object known = session.getIdentity(getIdentityKey(id));
+		if(known != null){
+			if(includeRelated)
+				loadMissingRelated(session, db, new TravelingEntity(known));
+			return known;
+		}
+		long cacheVersion = 0;
+		if(cache != null){
+			Object[] values = cache.get(getCacheKey(id));
+			if(values != null){
+				TravelingEntity o = loadEmptyEntity();
+				table.load(values, o);
+				return loadEntity(session, db, o, includeRelated).getContent();
+			}
+			cacheVersion = cache.getVersion();
+		}
 		timeLoad = System.currentTimeMillis();
 		Cursor cursor = buildSelectOrder(id).execute(db);
 		if(cursor.getCount() == 0)
@@ -426,7 +859,18 @@ public class Entity  extends AttributesContainer{
 		cursor.moveToFirst();
 
 		try {
-			TravelingEntity o = loadEntity(session, db, cursor, includeRelated);
+			RowMapper mapper = table.getRowMapper(cursor);
+			TravelingEntity o;
+			if(cache != null){
+				Object[] values = mapper.readValues(cursor);
+				if(!db.inTransaction())
+					cache.put(getCacheKey(id), values, cacheVersion);
+				o = loadEmptyEntity();
+				table.load(values, o);
+				o = loadEntity(session, db, o, includeRelated);
+			}else{
+				o = loadEntity(session, db, cursor, mapper, includeRelated);
+			}
 			Log.d("dbTime", " load "+ o + " : " + (System.currentTimeMillis()  - timeLoad));
 			return o.getContent();
 		}finally{
@@ -438,21 +882,47 @@ public class Entity  extends AttributesContainer{
 	/**
 	 * Loads an instance of this entity with the content of the given cursor
 	 * <p>
+	 * If the session already knows an instance with the same id, this instance is returned unchanged.
+	 * <p>
 	 * This operation cascades to associated instances
 	 *  
 	 * @param s the session calling the load
 	 * @param db the database
 	 * @param c the cursor to read
+	 * @param mapper the mapper of the cursor columns
 	 * @param includeRelated indicates id the related content must be loaded or not
 	 * @return the loaded and filled instance
 	 */
-	private TravelingEntity loadEntity(Session s, SQLiteDatabase db, Cursor c, boolean includeRelated){
-		TravelingEntity result = loadEmptyEntity();
-		table.load(c, result);
+	private TravelingEntity loadEntity(Session s, SQLiteDatabase db, Cursor c, RowMapper mapper, boolean includeRelated){
+		return loadEntity(s, db, readEntity(c, mapper), includeRelated);
+	}
+
+	/**
+	 * Loads an instance of this entity which has been read without its related content
+	 * <p>
+	 * If the session already knows an instance with the same id, this instance is returned unchanged.
+	 * <p>
+	 * This operation cascades to associated instances
+	 *  
+	 * @param s the session calling the load
+	 * @param db the database
+	 * @param result the read instance
+	 * @param includeRelated indicates id the related content must be loaded or not
+	 * @return the loaded and filled instance
+	 */
+	protected TravelingEntity loadEntity(Session s, SQLiteDatabase db, TravelingEntity result, boolean includeRelated){
+		Object known = s.getIdentity(getIdentityKey(result));
+		if(known != null){
+			result = new TravelingEntity(known);
+			if(includeRelated)
+				loadMissingRelated(s, db, result);
+			return result;
+		}
+		attach(s, result);
 		if(includeRelated){
 			Iterator<ElementCollection> itEc = elementCollections.iterator();
 			while (itEc.hasNext()) {
-				itEc.next().load(db, result);
+				itEc.next().load(s, db, result);
 
 			}
 		}
@@ -460,6 +930,121 @@ public class Entity  extends AttributesContainer{
 		return result;
 	}
 
+	/**
+	 * Indicates if the session already knows an instance with the same id than a read one
+	 *
+	 * @param s the session
+	 * @param o the read instance
+	 * @return <code>true</code> if the session knows an instance with the same id, otherwise <code>false</code>
+	 */
+	protected boolean isKnown(Session s, TravelingEntity o){
+		return s.getIdentity(getIdentityKey(o)) != null;
+	}
+
+	/**
+	 * Loads the related content of an instance known by the session which has not been loaded yet
+	 *
+	 * @param s the session knowing the instance
+	 * @param db the database
+	 * @param o the instance
+	 */
+	private void loadMissingRelated(Session s, SQLiteDatabase db, TravelingEntity o){
+		Iterator<ElementCollection> itEc = elementCollections.iterator();
+		while (itEc.hasNext()) {
+			ElementCollection ec = itEc.next();
+			if(!ec.isLoaded(s, o))
+				ec.load(s, db, o);
+		}
+	}
+
+	/**
+	 * Keeps a loaded instance into the session, with the values used to update only its changed columns
+	 *
+	 * @param s the session
+	 * @param o the loaded instance
+	 */
+	private void attach(Session s, TravelingEntity o){
+		s.putSnapshot(o.getContent(), table.takeSnapshot(o));
+		s.putIdentity(getIdentityKey(o), o.getContent());
+	}
+
+	/**
+	 * Returns the key of an instance into the identity map of the sessions
+	 *
+	 * @param o the instance
+	 * @return the class of this entity followed by the values of the id columns of the instance
+	 */
+	private List<Object> getIdentityKey(TravelingEntity o){
+		return getIdentityKey(id.getKeyFor(o));
+	}
+
+	/**
+	 * Returns the key of an id into the identity map of the sessions
+	 *
+	 * @param idValue the id
+	 * @return the class of this entity followed by the values of the id columns
+	 */
+	private List<Object> getIdentityKey(TravelingId idValue){
+		return getIdentityKey(id.getKeyOn(idValue.getContent()));
+	}
+
+	/**
+	 * Invalidates the results of the cacheable criteria reading the table of this entity, after it has been written
+	 */
+	public void invalidateQueries(){
+		ALiteOrmBuilder.getInstance().getQueryCache().invalidate(table.getTableName());
+	}
+
+	/**
+	 * Invalidates the results of the cacheable criteria reading the table of this entity, after it has been written
+	 * by a session
+	 * <p>
+	 * Within a transaction the results and the cached instances will be invalidated again once it ends, another
+	 * connection could have cached the rows read before the commit.
+	 *
+	 * @param session the session which has written the table
+	 */
+	public void invalidateQueries(Session session){
+		invalidateQueries();
+		session.addWrittenEntity(this);
+	}
+
+	/**
+	 * Returns the key of an id into the cache of this entity
+	 *
+	 * @param idValue the id
+	 * @return the values of the id columns
+	 */
+	private List<Object> getCacheKey(TravelingId idValue){
+		return id.getKeyOn(idValue.getContent());
+	}
+
+	/**
+	 * Returns the key of id values into the identity map of the sessions
+	 *
+	 * @param values the values of the id columns
+	 * @return the class of this entity followed by the values
+	 */
+	private List<Object> getIdentityKey(List<Object> values){
+		ArrayList<Object> key = new ArrayList<Object>(values.size() + 1);
+		key.add(getImplementationClass());
+		key.addAll(values);
+		return key;
+	}
+
+	/**
+	 * Reads an instance of this entity from the current row of the given cursor, without its related content
+	 *  
+	 * @param c the cursor to read
+	 * @param mapper the mapper of the cursor columns
+	 * @return the filled instance
+	 */
+	protected TravelingEntity readEntity(Cursor c, RowMapper mapper){
+		TravelingEntity result = loadEmptyEntity();
+		table.load(mapper, c, result);
+		return result;
+	}
+
 	/**
 	 * Loads the results of a select with projections
 	 * <p>
@@ -474,36 +1059,25 @@ public class Entity  extends AttributesContainer{
 	 */
 	private List<Object> loadProjection(Criteria criteria, Session s, SQLiteDatabase db, Cursor c, boolean includeRelated){
 		if(criteria.hasAggregatedPojections()){
-			// TODO FINISH THIS
-			return null;
+			ArrayList<Object> resultList = new ArrayList<Object>();
+			try{
+				while(c.moveToNext()){
+					resultList.add(readAggregatedRow(criteria, c));
+				}
+			}finally{
+				c.close();
+			}
+			return resultList;
 		}else{
 			ArrayList<Object> resultList = new ArrayList<Object>();
 			if (c.moveToFirst()) {
+				RowMapper mapper = getRowMapper(criteria, c);
 				do {
-					if(criteria.getImplementationClass() == null){
-						Iterator<ProjAttribute> it = criteria.getProjectedAttributes();
-						ArrayList<Object> result = new ArrayList<Object>();
-						while (it.hasNext()) {
-							ProjAttribute projAttribute = (ProjAttribute) it.next();
-							Attribute f = table.getAttribute(projAttribute.getAttributeName());
-							result.add(DBColumnFactory.readCursor(f.getDBName(), c, f.getColumnType()));
-						}
-						resultList.add(result);
-					}else{
-						Iterator<ProjAttribute> it = criteria.getProjectedAttributes();
-						Object result;
-						try {
-							result = criteria.getImplementationClass().getImplementationClass().newInstance();
-							while (it.hasNext()) {
-								ProjAttribute projAttribute = (ProjAttribute) it.next();
-								Attribute f = table.getAttribute(projAttribute.getAttributeName());
-								DBColumnFactory.setValue(f.getDBColumn(), c, result, true);
-							}
-							resultList.add(result);
-						} catch (Exception e) {
-							// TODO Auto-generated catch block
-							e.printStackTrace();
-						}
+					try {
+						resultList.add(loadProjectedRow(criteria, c, mapper));
+					} catch (Exception e) {
+						// TODO Auto-generated catch block
+						e.printStackTrace();
 					}
 				} while (c.moveToNext());
 			}
@@ -512,6 +1086,118 @@ public class Entity  extends AttributesContainer{
 		}
 	}
 
+	/**
+	 * Reads the current row of a cursor returned by a select with aggregated projections
+	 *
+	 * @param criteria the criteria of the select
+	 * @param c the cursor to read
+	 * @return the values of the row, in the order of the projections
+	 */
+	private List<Object> readAggregatedRow(Criteria criteria, Cursor c){
+		ArrayList<Object> row = new ArrayList<Object>();
+		Iterator<Projection> it = criteria.getAggregatedSelection();
+		while (it.hasNext()) {
+			row.add(readAggregated(it.next(), c, row.size()));
+		}
+		return row;
+	}
+
+	/**
+	 * Reads a column of the current row of a cursor returned by a select with aggregated projections
+	 * <p>
+	 * The counts are returned as <code>Long</code>, the averages as <code>Double</code> and the sums as
+	 * <code>Long</code> or <code>Double</code> depending on the summed values. The attributes, the minimums
+	 * and the maximums are returned with the type of their attribute.
+	 *
+	 * @param p the projection of the column
+	 * @param c the cursor to read
+	 * @param index the index of the column into the cursor
+	 * @return the value, <code>null</code> if the column is null
+	 */
+	private Object readAggregated(Projection p, Cursor c, int index){
+		if(c.isNull(index))
+			return null;
+		String name;
+		if(p instanceof ProjAggregate){
+			ProjAggregate a = (ProjAggregate)p;
+			if(ProjAggregate.COUNT.equals(a.getFunction()))
+				return c.getLong(index);
+			if(ProjAggregate.AVG.equals(a.getFunction()))
+				return c.getDouble(index);
+			if(ProjAggregate.SUM.equals(a.getFunction()))
+				return c.getType(index) == Cursor.FIELD_TYPE_INTEGER ? (Object)c.getLong(index) : (Object)c.getDouble(index);
+			name = a.getAttributeName();
+		}else if(p instanceof ProjGroup){
+			name = ((ProjGroup)p).getAttributeName();
+		}else{
+			name = ((ProjAttribute)p).getAttributeName();
+		}
+		return DBColumnFactory.readValue(index, c, table.getAttribute(name).getCodec());
+	}
+
+	/**
+	 * Loads the current row of a cursor returned by a select with projections
+	 *
+	 * @param criteria the criteria containing the projection
+	 * @param c the cursor to read
+	 * @param mapper the mapper of the projected attributes
+	 * @return the projected values or, if the criteria defines one, the filled instance of the implementation class
+	 * @throws InstantiationException will be thrown if the implementation class cannot be instantiated
+	 * @throws IllegalAccessException will be thrown if the constructor of the implementation class is not accessible
+	 */
+	private Object loadProjectedRow(Criteria criteria, Cursor c, RowMapper mapper) throws InstantiationException, IllegalAccessException{
+		if(criteria.getImplementationClass() == null)
+			return new ArrayList<Object>(Arrays.asList(mapper.read(c)));
+		Object result = EntityMappers.newInstance(criteria.getImplementationClass().getImplementationClass());
+		mapper.loadMock(c, result);
+		return result;
+	}
+
+	/**
+	 * Returns the mapper of the columns returned by the select of a criteria
+	 *
+	 * @param criteria the criteria of the select
+	 * @param c the cursor returned by the select
+	 * @return the mapper
+	 */
+	protected RowMapper getRowMapper(Criteria criteria, Cursor c){
+		if(!criteria.hasPojections())
+			return table.getRowMapper(c);
+		ArrayList<Attribute> projected = new ArrayList<Attribute>();
+		Iterator<ProjAttribute> it = criteria.getProjectedAttributes();
+		while (it.hasNext()) {
+			projected.add(table.getAttribute(it.next().getAttributeName()));
+		}
+		return table.getRowMapper(c, projected);
+	}
+
+	/**
+	 * Loads the current row of a cursor returned by the select of a criteria
+	 * <p>
+	 * This operation cascades to associated instances, unless the criteria has projections
+	 *
+	 * @param session the session calling the load
+	 * @param criteria the criteria of the select
+	 * @param db the database
+	 * @param c the cursor to read
+	 * @param mapper the mapper returned by <code>getRowMapper(Criteria, Cursor)</code> for the cursor, unused for aggregated projections
+	 * @param includeRelated indicates id the related content must be loaded or not
+	 * @return the loaded instance or the projected result
+	 */
+	protected Object loadRow(Session session, Criteria criteria, SQLiteDatabase db, Cursor c, RowMapper mapper, boolean includeRelated){
+		if(!criteria.hasPojections())
+			return loadEntity(session, db, c, mapper, includeRelated).getContent();
+		if(criteria.hasAggregatedPojections())
+			return readAggregatedRow(criteria, c);
+		try{
+			return loadProjectedRow(criteria, c, mapper);
+		}catch(InstantiationException e){
+			throw new RuntimeException("Cannot instanciate " + criteria.getImplementationClass().getImplementationClass().getName(), e);
+		}catch(IllegalAccessException e){
+			throw new RuntimeException("Cannot instanciate " + criteria.getImplementationClass().getImplementationClass().getName(), e);
+		}
+	}
+
 	/**
 	 * Loads the related content of given instance
 	 * <p>
@@ -530,11 +1216,23 @@ public class Entity  extends AttributesContainer{
 	public TravelingEntity loadDeep(Session s, TravelingEntity result, SQLiteDatabase db){
 		Iterator<ElementCollection> itEc = elementCollections.iterator();
 		while (itEc.hasNext()) {
-			itEc.next().load(db, result);
+			itEc.next().fetch(s, db, result);
 		}
 		return result;
 	}
 
+	/**
+	 * Loads the content of the lazy collections of the given instance which have not been loaded yet
+	 *
+	 * @param o the instance
+	 */
+	public void initialize(TravelingEntity o){
+		Iterator<ElementCollection> itEc = elementCollections.iterator();
+		while (itEc.hasNext()) {
+			itEc.next().initialize(o);
+		}
+	}
+
 	/**
 	 * Initializes the entity instance and also all instances of its embedded attributes
 	 * <p>
@@ -544,7 +1242,7 @@ public class Entity  extends AttributesContainer{
 	 */
 	private TravelingEntity loadEmptyEntity(){
 		try {
-			Object result = getImplementationClass().newInstance();
+			Object result = EntityMappers.newInstance(getImplementationClass());
 			Iterator<Embeddable> itE = embeddeds.iterator();
 			while (itE.hasNext()) {
 				itE.next().loadEmptyEntity(result);
@@ -571,93 +1269,202 @@ public class Entity  extends AttributesContainer{
 	 * @param o the instance to save
 	 */
 	public void save(Session session, SQLiteDatabase db, TravelingEntity o) {
-		if(!id.isComplex()){
-			IDBColumn idColumn = id.getColumns()[0];
-			if(idColumn.isAutoIncrement()){
-				String s = idColumn.getValue(idColumn.getAttribute().getTarget(o));
-				if(s == null || s.trim().length() == 0)
-					s = "0";
-				int idV = Integer.parseInt(s);
-				if(idV== 0){
-					runCallBack(session, ALitePrePersist.class, o);
-					insertAutoIncrement(db, o);
-					saveRelated(db, o);
-					runCallBack(session, ALitePostPersist.class, o);
-				}else{
-					if(exists(db, o)){
-						runCallBack(session, ALitePreUpdate.class, o);
-						updateAutoIncrement(db, o);
-						saveRelated(db, o);
-						runCallBack(session, ALitePostUpdate.class, o);
-					}else{
-						// TODO LAUNCH an exception here the persisted content has been deleted
-					}
-				}
-			}else{
-				saveNoAutoINcrement(session, db, o);
-			}
+		save(session, db, o, null);
+	}
+
+	/**
+	 * Saves an instance of this entity into the database using the given strategy
+	 * <p>
+	 * This operation cascades to associated instances
+	 * 
+	 * @param session the session calling the save
+	 * @param db the database
+	 * @param o the instance to save
+	 * @param mode the strategy used to choose between an insert and an update, <code>null</code> to use the one defined on the entity
+	 * @throws RDeletedInstanceException will be thrown if the row of an instance loaded by the session, or of an auto incremental instance
+	 * with a generated id, doesn't exist anymore
+	 */
+	public void save(Session session, SQLiteDatabase db, TravelingEntity o, SaveMode mode) throws RDeletedInstanceException{
+		if(mode == null)
+			mode = mainAnn.saveMode();
+		boolean autoIncrement = !id.isComplex() && id.getColumns()[0].isAutoIncrement();
+		// An instance with a snapshot has been loaded by the session, its row is known to exist
+		Object[] snapshot = session.getSnapshot(o.getContent());
+		if(autoIncrement && !hasGeneratedId(o)){
+			insert(session, db, o);
+		}else if(snapshot != null){
+			update(session, db, o, snapshot);
+		}else if(mode == SaveMode.UPSERT && !hasCallBack(session, ALitePreUpdate.class)){
+			// Without @ALitePreUpdate callbacks nothing must be called before knowing if the row exists
+			upsert(session, db, o, autoIncrement);
+		}else if(exists(db, o)){
+			update(session, db, o, null);
+		}else if(autoIncrement){
+			throw new RDeletedInstanceException("For : " + getImplementationClass().getName() + " " + id.getKeyFor(o));
 		}else{
-			saveNoAutoINcrement(session, db, o);
+			insert(session, db, o);
 		}
 	}
 
 	/**
-	 * Saves a non auto incremental instance of this entity
+	 * Indicates if an instance has an auto incremental id which has not been generated yet
+	 * 
+	 * @param o the instance
+	 * @return <code>true</code> if the id is auto incremental and still 0, otherwise <code>false</code>
+	 */
+	public boolean isWithoutGeneratedId(TravelingEntity o){
+		return !id.isComplex() && id.getColumns()[0].isAutoIncrement() && !hasGeneratedId(o);
+	}
+
+	/**
+	 * Resets to 0 the auto incremental id of an instance whose insert has been rolled back, its next save will insert it again
+	 * 
+	 * @param o the instance
+	 */
+	public void resetGeneratedId(TravelingEntity o){
+		assignGeneratedId(o, 0);
+	}
+
+	/**
+	 * Indicates if the id of an auto incremental instance has already been generated
+	 * 
+	 * @param o the instance
+	 * @return <code>true</code> if the instance has already been inserted, <code>false</code> if its id is still 0
+	 */
+	private boolean hasGeneratedId(TravelingEntity o){
+		IDBColumn idColumn = id.getColumns()[0];
+		String s = idColumn.getValue(idColumn.getAttribute().getTarget(o));
+		if(s == null || s.trim().length() == 0)
+			s = "0";
+		return Integer.parseInt(s) != 0;
+	}
+
+	/**
+	 * Updates an existing instance of this entity
+	 * <p>
+	 * With a snapshot only the changed columns are written, no statement is executed if none has changed
+	 * and the snapshot of the session is replaced by the written values.
+	 * 
+	 * @param session the session calling the save
+	 * @param db the database
+	 * @param o the instance to update
+	 * @param snapshot the values of the instance when it has been loaded, <code>null</code> to update all the columns
+	 * @throws RDeletedInstanceException will be thrown if the row of the instance doesn't exist anymore
+	 */
+	private void update(Session session, SQLiteDatabase db, TravelingEntity o, Object[] snapshot) throws RDeletedInstanceException{
+		runCallBack(session, ALitePreUpdate.class, o);
+		IUpdateOrder order = table.getUpdateOrder().fill(o, snapshot);
+		if(order.execute(db) == 0)
+			throw new RDeletedInstanceException("For : " + getImplementationClass().getName() + " " + id.getKeyFor(o));
+		if(snapshot != null)
+			session.putSnapshot(o.getContent(), order.getSnapshot());
+		saveRelated(session, db, o);
+		runCallBack(session, ALitePostUpdate.class, o);
+	}
+
+	/**
+	 * Saves an instance of this entity, not loaded by the session, updating it first and inserting it only if no row has been updated
+	 * <p>
+	 * This entity must not have <code>@ALitePreUpdate</code> callbacks, they would have to be called before knowing if the
+	 * instance is updated or inserted.
 	 * 
 	 * @param session the session calling the save
 	 * @param db the database
 	 * @param o the instance to save
+	 * @param autoIncrement <code>true</code> if the instance has an auto incremental id, such an instance cannot be inserted with its id
+	 * @throws RDeletedInstanceException will be thrown if no row exists for an auto incremental instance
 	 */
-	private void saveNoAutoINcrement(Session session, SQLiteDatabase db, TravelingEntity o){
-		if(!exists(db, o)){
-			runCallBack(session, ALitePrePersist.class, o);
-			insertNonAutoIncrement(db, o);
-			saveRelated(db, o);
-			runCallBack(session, ALitePostPersist.class, o);
-		}else{
-			runCallBack(session, ALitePreUpdate.class, o);
-			updateNonAutoIncrement(db, o);
-			saveRelated(db, o);
+	private void upsert(Session session, SQLiteDatabase db, TravelingEntity o, boolean autoIncrement) throws RDeletedInstanceException{
+		int updated = update(db, o, null);
+		if(updated == -1)
+			updated = exists(db, o) ? 1 : 0;
+		if(updated > 0){
+			saveRelated(session, db, o);
 			runCallBack(session, ALitePostUpdate.class, o);
+		}else if(autoIncrement){
+			throw new RDeletedInstanceException("For : " + getImplementationClass().getName() + " " + id.getKeyFor(o));
+		}else{
+			insert(session, db, o);
 		}
 	}
 
 	/**
 	 * Saves all the content relative to the given instance
+	 * <p>
+	 * The saved instance becomes the one returned by the session for its id
 	 * 
+	 * @param session the session calling the save
 	 * @param db the database
 	 * @param o the instance to save
 	 */
-	private void saveRelated(SQLiteDatabase db, TravelingEntity o) {
+	private void saveRelated(Session session, SQLiteDatabase db, TravelingEntity o) {
+		session.putIdentity(getIdentityKey(o), o.getContent());
+		if(cache != null)
+			cache.remove(id.getKeyFor(o));
+		invalidateQueries(session);
 		Iterator<ElementCollection> itColl = elementCollections.iterator();
 		while (itColl.hasNext()) {
 			ElementCollection coll = (ElementCollection) itColl.next();
-			coll.save(db, o);
+			coll.save(session, db, o);
 		}
 	}
 
 	/**
 	 * Saves an auto incremental instance of this entity
+	 * <p>
+	 * The generated id is taken from the row id of the insert and written back into the instance
 	 * 
 	 * @param db the database
 	 * @param e the instance to save
 	 */
 	private void insertAutoIncrement(SQLiteDatabase db, TravelingEntity e){
-		table.getInsertOrder().fill(e).execute(db);
-		int lastId = SqlTools.getMaxInt(db, table.getTableName(), id.getColumns()[0].getAttribute().getDBName());
-		if(lastId > -1){
-			id.getColumns()[0].setValue(id.getColumns()[0].getAttribute().getTarget(e.getContent()), lastId, false);
+		assignGeneratedId(e, table.getInsertOrder().fill(e).execute(db));
+	}
+
+	/**
+	 * Inserts a new instance of this entity without checking if it already exists
+	 * <p>
+	 * The id generated for an auto incremental instance is written back into the instance.
+	 * <p>
+	 * This operation cascades to associated instances
+	 *
+	 * @param session the session calling the insert
+	 * @param db the database
+	 * @param e the instance to insert
+	 */
+	public void insert(Session session, SQLiteDatabase db, TravelingEntity e){
+		runCallBack(session, ALitePrePersist.class, e);
+		if(!id.isComplex() && id.getColumns()[0].isAutoIncrement())
+			insertAutoIncrement(db, e);
+		else
+			insertNonAutoIncrement(db, e);
+		saveRelated(session, db, e);
+		runCallBack(session, ALitePostPersist.class, e);
+	}
+
+	/**
+	 * Writes a generated id into the auto incremental id of an instance
+	 *
+	 * @param e the instance
+	 * @param rowId the generated id, ignored if negative
+	 */
+	private void assignGeneratedId(TravelingEntity e, long rowId){
+		if(rowId > -1){
+			IDBColumn idColumn = id.getColumns()[0];
+			idColumn.setValue(idColumn.getAttribute().getTarget(e.getContent()), (int)rowId, false);
 		}
 	}
 
 	/**
-	 * Updates a non auto incremental instance of this entity
+	 * Updates the row of an instance of this entity
 	 * 
 	 * @param db the database
 	 * @param o the instance to update
+	 * @param snapshot the values of the instance when it has been loaded, <code>null</code> to update all the columns
+	 * @return the number of updated rows, -1 if there was no column to update
 	 */
-	private void updateNonAutoIncrement(SQLiteDatabase db, TravelingEntity o){
-		table.getUpdateOrder().fill(o).execute(db);
+	private int update(SQLiteDatabase db, TravelingEntity o, Object[] snapshot){
+		return table.getUpdateOrder().fill(o, snapshot).execute(db);
 	}
 
 	/**
@@ -670,16 +1477,6 @@ public class Entity  extends AttributesContainer{
 		table.getInsertOrder().fill(e).execute(db);
 	}
 
-	/**
-	 * Updates an auto incremental instance of this entity
-	 * 
-	 * @param db the database
-	 * @param o the instance ton update
-	 */
-	private void updateAutoIncrement(SQLiteDatabase db, TravelingEntity o){
-		table.getUpdateOrder().fill(o).execute(db);
-	}
-
 	/**
 	 * Returns an order to select the entity corresponding to the given id
 	 * 
@@ -708,7 +1505,12 @@ public class Entity  extends AttributesContainer{
 			Log.d(ILogPrefix.SQL_LOG, sql);
 
 		Cursor cur = db.rawQuery(sql, new String[] {});
-		return (cur != null && cur.moveToFirst());
+		try{
+			return (cur != null && cur.moveToFirst());
+		}finally{
+			if(cur != null)
+				cur.close();
+		}
 	}
 
 	/**
@@ -723,6 +1525,17 @@ public class Entity  extends AttributesContainer{
 		}
 	}
 
+	/**
+	 * Releases all the statements compiled for this entity and its related content
+	 */
+	public void releaseStatements(){
+		table.releaseStatements();
+		Iterator<ElementCollection> it = elementCollections.iterator();
+		while (it.hasNext()) {
+			it.next().getTable().releaseStatements();
+		}
+	}
+
 	/**
 	 * Adds a callback method to this entity
 	 * 
@@ -730,9 +1543,31 @@ public class Entity  extends AttributesContainer{
 	 * @param m the callback method to add
 	 */
 	private void addCallBack(Class<?> c, Method m){
+		m.setAccessible(true);
 		internalCallbacks.put(c, m);
 	}
 
+	/**
+	 * Indicates if a callback method will be run for a given life cycle event, either by this entity or by one of
+	 * its listeners
+	 * 
+	 * @param session the session calling the execution of the callback methods
+	 * @param c the class identifying the life cycle event
+	 * @return <code>true</code> if at least one callback method is defined for the event
+	 */
+	private boolean hasCallBack(Session session, Class<?> c){
+		if(internalCallbacks.containsKey(c))
+			return true;
+		Iterator<EntityListener> it = externalsCallbacks.iterator();
+		while (it.hasNext()) {
+			if(it.next().hasCallBack(c))
+				return true;
+		}
+		if(!excludeSessionListener && session.hasCallBack(c))
+			return true;
+		return !excludeGlobalListener && ALiteOrmBuilder.getInstance().hasCallBack(c);
+	}
+
 	/**
 	 * Runs the callback methods added to this entity
 	 * 
@@ -742,10 +1577,9 @@ public class Entity  extends AttributesContainer{
 	 */
 	private void runCallBack(Session session, Class<?> c, TravelingEntity o){
 		// We first invoke the internal callbacks
-		if(internalCallbacks.containsKey(c)){
+		Method m = internalCallbacks.get(c);
+		if(m != null){
 			try {
-				Method m = internalCallbacks.get(c);
-				m.setAccessible(true);
 				m.invoke(o.getContent());
 			} catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
 				throw new RuntimeException("Error calling the callback " + c + " on the content " + o, e);
@@ -0,0 +1,150 @@
+/*
+ * Copyright (C) 2015 Guillaume Barré
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gb.aliteorm.lib.core;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache of the column values of the instances of an entity, shared by all the sessions.
+ * <p>
+ * The values are kept by id in access order, the least recently used ones are evicted once the maximum
+ * number of entries is reached.
+ * <p>
+ * A load reading an instance from the database while it's being written could put outdated values, so the
+ * values are only put if the cache has not been invalidated since the load started.
+ *
+ * @author Guillaume Barré
+ * @since 1.0
+ *
+ */
+public class EntityCache {
+
+	private final int maxEntries;
+	private LinkedHashMap<List<Object>, Object[]> entries;
+	private long version = 0;
+	private long hits = 0, misses = 0;
+
+	/**
+	 * Creates a new cache
+	 * @param maxEntries the maximum number of instances kept into the cache
+	 */
+	public EntityCache(int maxEntries){
+		this.maxEntries = maxEntries;
+		entries = new LinkedHashMap<List<Object>, Object[]>(16, 0.75f, true){
+
+			private static final long serialVersionUID = -2739513648427701842L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<List<Object>, Object[]> eldest){
+				return size() > EntityCache.this.maxEntries;
+			}
+		};
+	}
+
+	/**
+	 * Returns the values of an instance
+	 * @param key the values of the id columns of the instance
+	 * @return a copy of the values, <code>null</code> if the instance is not cached
+	 */
+	public synchronized Object[] get(List<Object> key){
+		Object[] values = entries.get(key);
+		if(values == null){
+			misses++;
+			return null;
+		}
+		hits++;
+		return copy(values);
+	}
+
+	/**
+	 * Returns the current version of the cache, changed by each invalidation
+	 * @return the version
+	 */
+	public synchronized long getVersion(){
+		return version;
+	}
+
+	/**
+	 * Puts the values of an instance
+	 * @param key the values of the id columns of the instance
+	 * @param values the values of the columns
+	 * @param loadVersion the version of the cache when the values have started to be loaded
+	 */
+	public synchronized void put(List<Object> key, Object[] values, long loadVersion){
+		if(loadVersion == version)
+			entries.put(key, copy(values));
+	}
+
+	/**
+	 * Removes the values of an instance
+	 * @param key the values of the id columns of the instance
+	 */
+	public synchronized void remove(List<Object> key){
+		version++;
+		entries.remove(key);
+	}
+
+	/**
+	 * Removes the values of all the instances
+	 */
+	public synchronized void clear(){
+		version++;
+		entries.clear();
+	}
+
+	/**
+	 * Returns the number of cached instances
+	 * @return the number of cached instances
+	 */
+	public synchronized int size(){
+		return entries.size();
+	}
+
+	/**
+	 * Returns the number of loads which have found their instance into the cache
+	 * @return the number of hits
+	 */
+	public synchronized long getHitCount(){
+		return hits;
+	}
+
+	/**
+	 * Returns the number of loads which have not found their instance into the cache
+	 * @return the number of misses
+	 */
+	public synchronized long getMissCount(){
+		return misses;
+	}
+
+	/**
+	 * Copies values, the cached values must not be shared with the instances
+	 * @param values the values to copy
+	 * @return the copy
+	 */
+	protected static Object[] copy(Object[] values){
+		Object[] result = new Object[values.length];
+		for(int i = 0; i < values.length; i++){
+			// Dates are the only mutable values read from the columns
+			result[i] = values[i] instanceof Date ? new Date(((Date)values[i]).getTime()) : values[i];
+		}
+		return result;
+	}
+}
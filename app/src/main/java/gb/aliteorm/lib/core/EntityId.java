@@ -16,7 +16,11 @@
 // TODO JAVADOC
 package gb.aliteorm.lib.core;
 
+import android.database.sqlite.SQLiteStatement;
+
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import gb.aliteorm.lib.impl.columns.IDBColumn;
 
@@ -152,6 +156,102 @@ public class EntityId {
 		return getWhereOn(extractId(o), true);
 	}
 
+	/**
+	 * Returns the where clause on this id with a "?" parameter for each id column
+	 * <p>
+	 * NOTE : the generated clause dosn't start with "WHERE", it returns only the column definition of the clause
+	 * @param isJoin indicates if this clause will be use on a joined table
+	 * @return the generated where clause
+	 */
+	public String getParameterizedWhere(boolean isJoin){
+		StringBuilder strb = new StringBuilder(" ");
+		for(int i = 0; i < columns.length; i++){
+			strb.append(isJoin ? columns[i].getJoinColumName() : columns[i].getAttribute().getDBName())
+			.append("=?");
+			if(i + 1 < columns.length)
+				strb.append(" AND ");
+		}
+		return strb.toString();
+	}
+
+	/**
+	 * Binds the id values of the received entity to the parameters of a where clause
+	 * generated by <code>getParameterizedWhere(boolean)</code>
+	 * @param st the compiled statement
+	 * @param index the index of the first id parameter, starting at 1
+	 * @param o the entity holding the id values
+	 * @return the index of the next parameter to bind
+	 */
+	public int bindWhereFor(SQLiteStatement st, int index, TravelingEntity o){
+		for(int i = 0; i < columns.length; i++){
+			IDBColumn c = columns[i];
+			c.bindValue(st, index++, c.readValue(c.getAttribute().getTarget(o.getContent())));
+		}
+		return index;
+	}
+
+	/**
+	 * Adds the id values of the received entity to the arguments of a where clause
+	 * generated by <code>getParameterizedWhere(boolean)</code>
+	 * @param o the entity holding the id values
+	 * @param args the arguments where to add the id values
+	 */
+	public void addArgumentsFor(TravelingEntity o, List<String> args){
+		for(int i = 0; i < columns.length; i++){
+			IDBColumn c = columns[i];
+			args.add(c.getSqlDecorator().toArgument(c.readValue(c.getAttribute().getTarget(o.getContent()))));
+		}
+	}
+
+	/**
+	 * Binds an id value to the parameters of a where clause generated by <code>getParameterizedWhere(boolean)</code>
+	 * @param st the compiled statement
+	 * @param index the index of the first id parameter, starting at 1
+	 * @param idValue the value of a simple id or the instance of a complex id
+	 * @return the index of the next parameter to bind
+	 */
+	public int bindWhereOn(SQLiteStatement st, int index, Object idValue){
+		if(!isComplex()){
+			columns[0].bindValue(st, index++, idValue);
+		}else{
+			for(int i = 0; i < columns.length; i++){
+				columns[i].bindValue(st, index++, columns[i].readValue(idValue));
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * Returns the values of the id of an entity, as they are kept into the snapshots
+	 * @param o the entity holding the id
+	 * @return the values of each id column
+	 */
+	public List<Object> getKeyFor(TravelingEntity o){
+		Object[] key = new Object[columns.length];
+		for(int i = 0; i < columns.length; i++){
+			IDBColumn c = columns[i];
+			key[i] = c.getSnapshotValue(c.readValue(c.getAttribute().getTarget(o.getContent())));
+		}
+		return Arrays.asList(key);
+	}
+
+	/**
+	 * Returns the values of an id, as they are kept into the snapshots
+	 * @param idValue the value of a simple id or the instance of a complex id
+	 * @return the values of each id column
+	 */
+	public List<Object> getKeyOn(Object idValue){
+		Object[] key = new Object[columns.length];
+		if(!isComplex()){
+			key[0] = columns[0].getSnapshotValue(idValue);
+		}else{
+			for(int i = 0; i < columns.length; i++){
+				key[i] = columns[i].getSnapshotValue(columns[i].readValue(idValue));
+			}
+		}
+		return Arrays.asList(key);
+	}
+
 	/**
 	 * Extracts the Id of a entity
 	 * @param e the entity holding the id to extract
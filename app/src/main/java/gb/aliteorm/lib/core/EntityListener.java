@@ -20,6 +20,8 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Hashtable;
 
+import gb.aliteorm.lib.mapper.EntityMappers;
+
 /**
  * Implementation of a class used as entity listener.
  * <p>
@@ -33,6 +35,7 @@ import java.util.Hashtable;
 public class EntityListener implements ICallBackContainer{
 
 	private Class<?> l;
+	private Object instance = null;
 	private Hashtable<Class<?>, Method> cbs;
 
 	/**
@@ -46,6 +49,7 @@ public class EntityListener implements ICallBackContainer{
 
 	@Override
 	public void addCallBack(Class<?> c, Method m) {
+		m.setAccessible(true);
 		cbs.put(c, m);
 	}
 
@@ -55,18 +59,39 @@ public class EntityListener implements ICallBackContainer{
 	 * @param o the persistent instance target of the callback
 	 */
 	public void runCallBack(Class<?> c, TravelingEntity o){
-		if(cbs.containsKey(c)){
+		Method m = cbs.get(c);
+		if(m != null){
 			try {
-				Method m = cbs.get(c);
-				m.setAccessible(true);
-				Object ol = l.newInstance(); // TODO CACHING ????
-				m.invoke(ol, o.getContent());
+				m.invoke(getInstance(), o.getContent());
 			} catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException | InstantiationException e) {
 				throw new RuntimeException("Error calling the callback " + c + " on the content " + o, e);
 			}
 		}
 	}
 
+	/**
+	 * Indicates if this listener defines a callback method for a given entity life cycle's event
+	 * @param c the class identifying the entity life cycle's event
+	 * @return <code>true</code> if a callback method is defined for the event
+	 */
+	public boolean hasCallBack(Class<?> c){
+		return cbs.containsKey(c);
+	}
+
+	/**
+	 * Returns the instance of the listener class, created on the first callback
+	 * <p>
+	 * As in JPA the listener classes are expected to be stateless, so the same instance is used for all the callbacks
+	 * @return the listener instance
+	 * @throws InstantiationException will be thrown if the listener class cannot be instantiated
+	 * @throws IllegalAccessException will be thrown if the constructor of the listener class is not accessible
+	 */
+	private synchronized Object getInstance() throws InstantiationException, IllegalAccessException{
+		if(instance == null)
+			instance = EntityMappers.newInstance(l);
+		return instance;
+	}
+
 	/**
 	 * Returns the listener class 
 	 * @return the class
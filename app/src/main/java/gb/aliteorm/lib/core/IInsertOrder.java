@@ -50,14 +50,17 @@ public interface IInsertOrder {
 	/**
 	 * Executes the order on the given database
 	 * @param db the database
+	 * @return the row id of the inserted row, -1 if nothing has been inserted
 	 */
-	public void execute(SQLiteDatabase db);
+	public long execute(SQLiteDatabase db);
 
 	/**
 	 * Adds a column insert to this order
+	 * <p>
+	 * The columns added this way will be inserted after the mapped attributes of the table
 	 *
-	 * @param column the name of the column to insert, it must be like for example : "table.column"
-	 * @param value the initial value to insert, it must be like for example : "'abc'"
+	 * @param column the name of the column to insert, it must be like for example : "table_column"
+	 * @param value the initial value to insert, it will be bound according to its type
 	 */
-	public void addColumn(String column, String value);
+	public void addColumn(String column, Object value);
 }
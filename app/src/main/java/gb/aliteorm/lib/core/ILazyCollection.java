@@ -0,0 +1,43 @@
+/*
+ * Copyright (C) 2015 Guillaume Barré
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gb.aliteorm.lib.core;
+
+import gb.aliteorm.lib.exception.RLazyInitializationException;
+
+/**
+ * Collection set into an entity in place of an element collection loaded lazily.
+ *
+ * @author Guillaume Barré
+ * @since 1.0
+ *
+ * @see gb.aliteorm.lib.annotation.FetchMode#LAZY
+ */
+public interface ILazyCollection {
+
+	/**
+	 * Indicates if the content of the collection has been loaded
+	 * @return <code>true</code> if the content has been loaded, otherwise <code>false</code>
+	 */
+	public boolean isInitialized();
+
+	/**
+	 * Loads the content of the collection if it has not been loaded yet
+	 * @throws RLazyInitializationException will be thrown if the session which loaded the entity has been closed
+	 */
+	public void initialize() throws RLazyInitializationException;
+}
@@ -38,23 +38,27 @@ public interface IUpdateOrder {
 	public IUpdateOrder fill(TravelingEntity o);
 
 	/**
-	 * Adds a column update to this order
+	 * Fill this order with the columns of the persistent instance which have changed since the given snapshot.
+	 * <p>
+	 * The given snapshot is left unchanged, the values it will hold once the order executed are returned by <code>getSnapshot()</code>
 	 *
-	 * @param sql the SQL value to add, it must be complete like for example : "table.column = 'abc'"
+	 * @param o the persistent instance to update
+	 * @param snapshot the values of the updatable columns when the instance has been loaded, <code>null</code> to update all the columns
+	 * @return the order
+	 * @see DBTable#takeSnapshot(TravelingEntity)
 	 */
-	public void addColumnUpdateSql(String sql);
+	public IUpdateOrder fill(TravelingEntity o, Object[] snapshot);
 
 	/**
-	 * Adds a column update to this order
-	 *
-	 * @param column the column name to update, it must be like for example : "table.column"
-	 * @param value the new value to update, it must be like for example : "'abc'"
+	 * Executes the order on the given database
+	 * @param db the database
+	 * @return the number of updated rows, -1 if there was no column to update
 	 */
-	public void addColumnUpdate(String column, String value);
+	public int execute(SQLiteDatabase db);
 
 	/**
-	 * Executes the order on the given database
-	 * @param db the database
+	 * Returns the snapshot given to this order with the values of the columns written by the order
+	 * @return the new snapshot, <code>null</code> if the order has been filled without snapshot
 	 */
-	public void execute(SQLiteDatabase db);
+	public Object[] getSnapshot();
 }
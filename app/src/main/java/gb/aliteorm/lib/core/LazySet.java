@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2015 Guillaume Barré
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gb.aliteorm.lib.core;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Set;
+
+import gb.aliteorm.lib.exception.RLazyInitializationException;
+import gb.aliteorm.lib.tools.Session;
+
+/**
+ * Set loading the content of an element collection the first time it's accessed.
+ *
+ * @author Guillaume Barré
+ * @since 1.0
+ *
+ */
+public class LazySet<E> extends AbstractSet<E> implements ILazyCollection {
+
+	private Session session;
+	private ElementCollection collection;
+	private TravelingEntity owner;
+	private Set<E> content = null;
+
+	/**
+	 * Creates a new set
+	 * @param session the session which loaded the entity
+	 * @param collection the mapping of the collection
+	 * @param owner the entity owning the collection
+	 */
+	protected LazySet(Session session, ElementCollection collection, TravelingEntity owner){
+		this.session = session;
+		this.collection = collection;
+		this.owner = owner;
+	}
+
+	@Override
+	public boolean isInitialized(){
+		return content != null;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public void initialize() throws RLazyInitializationException{
+		if(content == null){
+			content = (Set<E>)collection.loadContent(session, owner);
+			session = null;
+			owner = null;
+		}
+	}
+
+	/**
+	 * Returns the loaded content
+	 * @return the loaded content
+	 */
+	private Set<E> getContent(){
+		initialize();
+		return content;
+	}
+
+	@Override
+	public int size(){
+		return getContent().size();
+	}
+
+	@Override
+	public boolean contains(Object o){
+		return getContent().contains(o);
+	}
+
+	@Override
+	public boolean add(E e){
+		return getContent().add(e);
+	}
+
+	@Override
+	public boolean remove(Object o){
+		return getContent().remove(o);
+	}
+
+	@Override
+	public void clear(){
+		getContent().clear();
+	}
+
+	@Override
+	public Iterator<E> iterator(){
+		return getContent().iterator();
+	}
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright (C) 2015 Guillaume Barré
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gb.aliteorm.lib.core;
+
+import java.util.ArrayList;
+import java.util.Hashtable;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Cache of the rows returned by the cacheable criteria, shared by all the sessions.
+ * <p>
+ * The rows are kept by SQL sentence in access order. The least recently used results are evicted once the maximum
+ * number of results or the maximum number of rows is reached, a result with more rows than this maximum is never kept.
+ * <p>
+ * Each write on a table changes its version, the results read from a previous version of their table are not returned
+ * anymore. A result read from the database while its table is being written is only put if the version of the
+ * table has not changed since the query started.
+ * <p>
+ * A table written within a transaction changes its version again once the transaction ends, the results cached
+ * by the other connections until the commit hold the previous rows.
+ *
+ * @author Guillaume Barré
+ * @since 1.0
+ *
+ */
+public class QueryCache {
+
+	private int maxEntries, maxRows;
+	private int rows = 0;
+	private LinkedHashMap<List<Object>, CachedQuery> entries;
+	private Hashtable<String, Long> versions = new Hashtable<String, Long>();
+	private long hits = 0, misses = 0;
+
+	/**
+	 * Creates a new cache
+	 * @param maxEntries the maximum number of results kept into the cache
+	 * @param maxRows the maximum number of rows kept into the cache, for all the results
+	 */
+	public QueryCache(int maxEntries, int maxRows){
+		this.maxEntries = maxEntries;
+		this.maxRows = maxRows;
+		entries = new LinkedHashMap<List<Object>, CachedQuery>(16, 0.75f, true);
+	}
+
+	/**
+	 * Specifies the maximum number of results kept into the cache
+	 * @param maxEntries the maximum number of results
+	 */
+	public synchronized void setMaxEntries(int maxEntries){
+		this.maxEntries = maxEntries;
+		evict();
+	}
+
+	/**
+	 * Specifies the maximum number of rows kept into the cache, for all the results
+	 * @param maxRows the maximum number of rows
+	 */
+	public synchronized void setMaxRows(int maxRows){
+		this.maxRows = maxRows;
+		evict();
+	}
+
+	/**
+	 * Returns the current version of a table, changed by each write
+	 * @param table the name of the table
+	 * @return the version
+	 */
+	public synchronized long getVersion(String table){
+		Long version = versions.get(table);
+		return version == null ? 0 : version;
+	}
+
+	/**
+	 * Returns a result
+	 * @param key the SQL sentence of the query followed by the values identifying its result
+	 * @return the result, <code>null</code> if it's not cached or if its table has been written since
+	 */
+	protected synchronized CachedQuery get(List<Object> key){
+		CachedQuery result = entries.get(key);
+		if(result != null && result.version != getVersion(result.table)){
+			remove(key);
+			result = null;
+		}
+		if(result == null)
+			misses++;
+		else
+			hits++;
+		return result;
+	}
+
+	/**
+	 * Puts a result
+	 * @param key the SQL sentence of the query followed by the values identifying its result
+	 * @param result the result
+	 */
+	protected synchronized void put(List<Object> key, CachedQuery result){
+		if(result.version != getVersion(result.table) || result.rows.size() > maxRows)
+			return;
+		remove(key);
+		entries.put(key, result);
+		rows += result.rows.size();
+		evict();
+	}
+
+	/**
+	 * Invalidates all the results read from a table
+	 * @param table the name of the written table
+	 */
+	public synchronized void invalidate(String table){
+		versions.put(table, getVersion(table) + 1);
+	}
+
+	/**
+	 * Removes all the results
+	 */
+	public synchronized void clear(){
+		entries.clear();
+		rows = 0;
+	}
+
+	/**
+	 * Returns the number of cached results
+	 * @return the number of cached results
+	 */
+	public synchronized int size(){
+		return entries.size();
+	}
+
+	/**
+	 * Returns the number of cacheable queries which have found their result into the cache
+	 * @return the number of hits
+	 */
+	public synchronized long getHitCount(){
+		return hits;
+	}
+
+	/**
+	 * Returns the number of cacheable queries which have not found their result into the cache
+	 * @return the number of misses
+	 */
+	public synchronized long getMissCount(){
+		return misses;
+	}
+
+	/**
+	 * Removes a result
+	 * @param key the key of the result
+	 */
+	private void remove(List<Object> key){
+		CachedQuery removed = entries.remove(key);
+		if(removed != null)
+			rows -= removed.rows.size();
+	}
+
+	/**
+	 * Evicts the least recently used results until the limits are respected
+	 */
+	private void evict(){
+		Iterator<CachedQuery> it = entries.values().iterator();
+		while (it.hasNext() && (entries.size() > maxEntries || rows > maxRows)) {
+			rows -= it.next().rows.size();
+			it.remove();
+		}
+	}
+
+	/**
+	 * The rows returned by a query
+	 */
+	protected static class CachedQuery {
+
+		private String table;
+		private long version;
+		private RowMapper mapper;
+		private ArrayList<Object[]> rows;
+
+		/**
+		 * Creates a new result
+		 * @param table the name of the queried table
+		 * @param version the version of the table when the query has started
+		 * @param mapper the mapper which has read the rows
+		 * @param rows the values of each row, they must not be changed afterwards
+		 */
+		protected CachedQuery(String table, long version, RowMapper mapper, ArrayList<Object[]> rows){
+			this.table = table;
+			this.version = version;
+			this.mapper = mapper;
+			this.rows = rows;
+		}
+
+		/**
+		 * Returns the mapper which has read the rows
+		 * @return the mapper
+		 */
+		protected RowMapper getMapper(){
+			return mapper;
+		}
+
+		/**
+		 * Returns a copy of the rows
+		 * @return the values of each row
+		 */
+		protected List<Object[]> getRows(){
+			ArrayList<Object[]> result = new ArrayList<Object[]>(rows.size());
+			for(int i = 0; i < rows.size(); i++){
+				result.add(EntityCache.copy(rows.get(i)));
+			}
+			return result;
+		}
+	}
+}
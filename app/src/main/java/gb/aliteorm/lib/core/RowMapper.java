@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2015 Guillaume Barré
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gb.aliteorm.lib.core;
+
+import android.database.Cursor;
+
+import java.util.List;
+
+import gb.aliteorm.lib.impl.columns.DBColumnFactory;
+
+/**
+ * Maps the rows of a cursor to attributes using the column indexes resolved once for a result shape.
+ * <p>
+ * A mapper is built for a list of attributes and the columns of a cursor, it can be used for all the
+ * cursors returning the same columns.
+ *
+ * @author Guillaume Barré
+ * @since 1.0
+ *
+ */
+public class RowMapper {
+
+	private Attribute[] attributes;
+	private int[] indexes;
+
+	/**
+	 * Creates a new mapper
+	 * @param attributes the attributes to map
+	 * @param c the cursor defining the columns of the result
+	 */
+	public RowMapper(List<Attribute> attributes, Cursor c){
+		this.attributes = attributes.toArray(new Attribute[attributes.size()]);
+		indexes = new int[this.attributes.length];
+		for(int i = 0; i < indexes.length; i++){
+			indexes[i] = c.getColumnIndex(this.attributes[i].getDBName());
+		}
+	}
+
+	/**
+	 * Fills an object with the current row of the cursor
+	 * <p>
+	 * The attributes which are not part of the result are left unchanged
+	 * @param c the cursor to read
+	 * @param result the object to fill
+	 */
+	public void load(Cursor c, Object result){
+		for(int i = 0; i < attributes.length; i++){
+			if(indexes[i] < 0)
+				continue;
+			Attribute f = attributes[i];
+			DBColumnFactory.setValue(f.getDBColumn(), c, indexes[i], f.getTarget(result), false);
+		}
+	}
+
+	/**
+	 * Fills a mock object with the current row of the cursor
+	 * @param c the cursor to read
+	 * @param result the mock object to fill ( for example one defined using <code>Projections.implementationClass(Class<?> class)</code> )
+	 */
+	public void loadMock(Cursor c, Object result){
+		for(int i = 0; i < attributes.length; i++){
+			if(indexes[i] < 0)
+				continue;
+			DBColumnFactory.setValue(attributes[i].getDBColumn(), c, indexes[i], result, true);
+		}
+	}
+
+	/**
+	 * Fills an object with values previously read by <code>readValues(Cursor)</code>
+	 * <p>
+	 * The attributes which were not part of the result are left unchanged
+	 * @param values the values, in the order of the mapped attributes
+	 * @param result the object to fill
+	 */
+	public void load(Object[] values, Object result){
+		for(int i = 0; i < attributes.length; i++){
+			if(indexes[i] < 0)
+				continue;
+			Attribute f = attributes[i];
+			DBColumnFactory.writeValue(f.getDBColumn(), values[i], f.getTarget(result));
+		}
+	}
+
+	/**
+	 * Fills a mock object with values previously read by <code>readValues(Cursor)</code>
+	 * @param values the values, in the order of the mapped attributes
+	 * @param result the mock object to fill
+	 */
+	public void loadMock(Object[] values, Object result){
+		for(int i = 0; i < attributes.length; i++){
+			if(indexes[i] < 0)
+				continue;
+			DBColumnFactory.writeValue(attributes[i].getDBColumn(), values[i], result, true);
+		}
+	}
+
+	/**
+	 * Reads the values of the current row of the cursor, as they are written into the attributes by <code>load(Cursor, Object)</code>
+	 * @param c the cursor to read
+	 * @return the values, in the order of the mapped attributes
+	 */
+	public Object[] readValues(Cursor c){
+		Object[] result = new Object[attributes.length];
+		for(int i = 0; i < attributes.length; i++){
+			if(indexes[i] >= 0)
+				result[i] = DBColumnFactory.readValue(indexes[i], c, attributes[i].getCodec());
+		}
+		return result;
+	}
+
+	/**
+	 * Reads the values of the current row of the cursor
+	 * @param c the cursor to read
+	 * @return the values, in the order of the mapped attributes
+	 */
+	public Object[] read(Cursor c){
+		Object[] result = new Object[attributes.length];
+		for(int i = 0; i < attributes.length; i++){
+			if(indexes[i] >= 0)
+				result[i] = DBColumnFactory.readCursor(indexes[i], c, attributes[i].getCodec());
+		}
+		return result;
+	}
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2015 Guillaume Barré
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gb.aliteorm.lib.core;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import gb.aliteorm.lib.query.impl.Criteria;
+import gb.aliteorm.lib.tools.Session;
+
+/**
+ * Result of a criteria loading its rows only when they are reached.
+ * <p>
+ * Only the current row is kept in memory, the session evicts an instance attached by the result when it moves
+ * to the next row, so an instance saved after that will have all its columns updated. The instances already known
+ * by the session before being scrolled are left into it.
+ * <p>
+ * The underlying cursor is closed when the last row has been reached, a result which is not read until
+ * its end must be closed.
+ *
+ * @author Guillaume Barré
+ * @since 1.0
+ *
+ */
+public class ScrollableResult implements Iterator<Object>, Closeable {
+
+	private Session session;
+	private Entity entity;
+	private Criteria criteria;
+	private SQLiteDatabase db;
+	private Cursor cursor;
+	private RowMapper mapper = null;
+	private boolean includeRelated;
+	private boolean fetched = false, available = false;
+	private Object current = null;
+	private boolean attached = false;
+
+	/**
+	 * Creates a new result
+	 * @param session the session calling the scroll
+	 * @param entity the entity selected by the criteria
+	 * @param criteria the criteria for the selection
+	 * @param db the database
+	 * @param cursor the cursor returned by the select of the criteria
+	 * @param includeRelated indicates id the related content must be loaded or not
+	 */
+	protected ScrollableResult(Session session, Entity entity, Criteria criteria, SQLiteDatabase db, Cursor cursor, boolean includeRelated){
+		this.session = session;
+		this.entity = entity;
+		this.criteria = criteria;
+		this.db = db;
+		this.cursor = cursor;
+		this.includeRelated = includeRelated;
+	}
+
+	@Override
+	public boolean hasNext(){
+		if(!fetched){
+			forgetCurrent();
+			available = !cursor.isClosed() && cursor.moveToNext();
+			fetched = true;
+			if(!available)
+				close();
+		}
+		return available;
+	}
+
+	@Override
+	public Object next(){
+		if(!hasNext())
+			throw new NoSuchElementException();
+		fetched = false;
+		if(mapper == null && !criteria.hasAggregatedPojections())
+			mapper = entity.getRowMapper(criteria, cursor);
+		if(criteria.hasPojections()){
+			current = entity.loadRow(session, criteria, db, cursor, mapper, includeRelated);
+		}else{
+			TravelingEntity read = entity.readEntity(cursor, mapper);
+			attached = !entity.isKnown(session, read);
+			current = entity.loadEntity(session, db, read, includeRelated).getContent();
+		}
+		return current;
+	}
+
+	@Override
+	public void remove(){
+		throw new UnsupportedOperationException("The results cannot be removed, use Session.delete instead");
+	}
+
+	/**
+	 * Passes all the remaining results to a handler, then closes this result
+	 * @param handler the handler
+	 */
+	public void forEach(IResultHandler handler){
+		try{
+			while(hasNext()){
+				handler.handle(next());
+			}
+		}finally{
+			close();
+		}
+	}
+
+	/**
+	 * Closes the underlying cursor
+	 */
+	@Override
+	public void close(){
+		forgetCurrent();
+		if(!cursor.isClosed())
+			cursor.close();
+	}
+
+	/**
+	 * Evicts the instance loaded for the current row if it has been attached to the session by this result
+	 */
+	private void forgetCurrent(){
+		if(current != null && attached)
+			session.evict(current);
+		current = null;
+		attached = false;
+	}
+}
@@ -36,6 +36,7 @@ public class SelectOrder {
 	private String t;
 	private String select = "";
 	private String w = "";
+	private String[] args = new String[] {};
 
 	/**
 	 * Select from a table base on the specified criteria condition
@@ -46,6 +47,7 @@ public class SelectOrder {
 	public SelectOrder(Entity e, Criteria c){
 		t = e.getTable().getTableName();
 		w = c.getSql(true, true, true);
+		args = c.getArguments();
 		select = c.getSelect();
 	}
 
@@ -61,6 +63,18 @@ public class SelectOrder {
 		select = ISqlString.SELECT_ALL_SQL;
 	}
 
+	/**
+	 * Select from a table base on a specified "where" condition with "?" parameters
+	 *
+	 * @param t the name of the database table
+	 * @param w the string defining the where condition
+	 * @param args the arguments bound to the "?" parameters of the where condition
+	 */
+	public SelectOrder(String t, String w, String[] args){
+		this(t, w);
+		this.args = args;
+	}
+
 	/**
 	 * Select from a table base on specified "where" condition
 	 *
@@ -75,10 +89,18 @@ public class SelectOrder {
 	 * Returns the executable SQL sentence
 	 * @return the SQL
 	 */
-	private String getSql(){
+	public String getSql(){
 		return select + t + " " + w;
 	}
 
+	/**
+	 * Returns the arguments bound to the "?" parameters of the SQL sentence
+	 * @return the arguments
+	 */
+	public String[] getArguments(){
+		return args;
+	}
+
 	/**
 	 * Executes the order on the given database
 	 * @param db the database
@@ -87,6 +109,6 @@ public class SelectOrder {
 	public Cursor execute(SQLiteDatabase db){
 		if(ALiteOrmBuilder.getInstance().isShowSQL())
 			Log.d(ILogPrefix.SQL_LOG, getSql());
-		return db.rawQuery(getSql(), new String[] {});
+		return db.rawQuery(getSql(), args);
 	}
 }
\ No newline at end of file
@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2015 Guillaume Barré
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gb.aliteorm.lib.core;
+
+import android.database.sqlite.SQLiteDatabase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import gb.aliteorm.lib.query.impl.Assignment;
+import gb.aliteorm.lib.query.impl.Criteria;
+
+/**
+ * An order to update all the instances of a database table matching a criteria
+ *
+ * @author Guillaume Barré
+ * @since 1.0
+ *
+ */
+public class UpdateOrder {
+
+	private String t;
+	private String s;
+	private String w;
+	private String[] args;
+
+	/**
+	 * Updates instances base on a criteria condition
+	 *
+	 * @param e the entity mapping the instances to update
+	 * @param c the criteria defining the where condition
+	 * @param a the assignments of the new values
+	 * @throws RuntimeException will be thrown if there is no assignment
+	 * @throws IllegalArgumentException will be thrown if the criteria has projections, "having" criterions or a keyset position
+	 */
+	public UpdateOrder(Entity e, Criteria c, Assignment... a) throws RuntimeException, IllegalArgumentException{
+		if(a == null || a.length == 0)
+			throw new RuntimeException("No assignment to update : " + e.getTable().getTableName());
+		// Only the "where" part has a meaning for an update
+		if(!c.isRestrictionOnly())
+			throw new IllegalArgumentException("A criteria with projections, \"having\" criterions or after() cannot update : " + e.getTable().getTableName());
+		t = e.getTable().getTableName();
+		ArrayList<String> l = new ArrayList<String>();
+		StringBuilder strb = new StringBuilder();
+		for(int i = 0; i < a.length; i++){
+			strb.append(a[i].getSql(e, l));
+			if(i + 1 < a.length)
+				strb.append(",");
+		}
+		s = strb.toString();
+		w = c.getWhereSql();
+		l.addAll(Arrays.asList(c.getArguments()));
+		args = l.toArray(new String[l.size()]);
+	}
+
+	/**
+	 * Returns the executable SQL sentence
+	 * @return the executable an SQL sequence
+	 */
+	private String getSql(){
+		return "UPDATE " + t + " SET " + s + " " + w;
+	}
+
+	/**
+	 * Executes the order on the given database
+	 * @param db the database
+	 * @return the number of updated rows
+	 */
+	public int execute(SQLiteDatabase db){
+		CompiledStatement cs = new CompiledStatement(db, getSql());
+		try{
+			cs.getStatement().bindAllArgsAsStrings(args);
+			return cs.executeUpdateDelete();
+		}finally{
+			cs.release();
+		}
+	}
+}
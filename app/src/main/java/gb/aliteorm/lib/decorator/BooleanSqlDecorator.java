@@ -42,4 +42,9 @@ public class BooleanSqlDecorator implements ISqlDecorator{
 		else
 			return "0";
 	}
+
+	@Override
+	public String toArgument(Object o) {
+		return decorate(o);
+	}
 }
\ No newline at end of file
@@ -40,4 +40,9 @@ public class DateSqlDecorator implements ISqlDecorator{
 		Date d = (Date)o;
 		return "" + d.getTime();
 	}
+
+	@Override
+	public String toArgument(Object o) {
+		return decorate(o);
+	}
 }
\ No newline at end of file
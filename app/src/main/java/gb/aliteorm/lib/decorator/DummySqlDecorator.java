@@ -36,4 +36,9 @@ public class DummySqlDecorator implements ISqlDecorator{
 	public String decorate(Object o) {
 		return "" + o;
 	}
+
+	@Override
+	public String toArgument(Object o) {
+		return "" + o;
+	}
 }
\ No newline at end of file
@@ -54,4 +54,13 @@ public interface ISqlDecorator {
 	 * @return the decorated content
 	 */
 	public String decorate(Object o);
+
+	/**
+	 * Returns the argument bound to the "?" parameter replacing the Object given as parameter
+	 * <p>
+	 * Unlike the decorated content the argument is never quoted.
+	 * @param o the object to bind
+	 * @return the argument
+	 */
+	public String toArgument(Object o);
 }
\ No newline at end of file
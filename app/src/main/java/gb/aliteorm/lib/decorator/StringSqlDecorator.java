@@ -47,4 +47,9 @@ public class StringSqlDecorator implements ISqlDecorator{
 		.append(SQL_ESCAPE)
 		.toString();
 	}
+
+	@Override
+	public String toArgument(Object o) {
+		return o.toString();
+	}
 }
@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2015 Guillaume Barré
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gb.aliteorm.lib.impl.columns;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteStatement;
+
+import java.lang.reflect.Method;
+
+import gb.aliteorm.lib.annotation.ALiteStringLength;
+import gb.aliteorm.lib.core.Attribute;
+import gb.aliteorm.lib.decorator.ISqlDecorator;
+import gb.aliteorm.lib.exception.UnsupportedGetterException;
+
+/**
+ * Conversions between one java type supported by ALiteOrm and its database representation.
+ * <p>
+ * A codec is resolved once for each attribute when the model is loaded, it must not keep
+ * any state and is shared by all the columns of the same type.
+ *
+ * @author Guillaume Barré
+ * @since 1.0
+ *
+ * @see ColumnCodecs
+ */
+public interface ColumnCodec {
+
+	/**
+	 * Creates the column used to map an attribute of this type
+	 * @param tableName the table where to create the column
+	 * @param a the attribute corresponding to the column
+	 * @param getter the getter method to access the attribute
+	 * @return the created column
+	 * @throws UnsupportedGetterException will be thrown if the getter returns an unsupported type
+	 */
+	public IDBColumn newColumn(String tableName, Attribute a, Method getter) throws UnsupportedGetterException;
+
+	/**
+	 * Reads from a cursor the value to write into a persistent instance
+	 * @param c the cursor to read
+	 * @param index the index of the column into the cursor
+	 * @return the typed value
+	 */
+	public Object read(Cursor c, int index);
+
+	/**
+	 * Reads from a cursor the value returned into the projected results and the base typed collections
+	 * @param c the cursor to read
+	 * @param index the index of the column into the cursor
+	 * @return the value
+	 */
+	public Object readResult(Cursor c, int index);
+
+	/**
+	 * Binds a value of this type to a parameter of a compiled statement
+	 * @param st the compiled statement
+	 * @param index the index of the parameter to bind, starting at 1
+	 * @param value the value to bind, never <code>null</code>
+	 */
+	public void bind(SQLiteStatement st, int index, Object value);
+
+	/**
+	 * Returns the SQL type used to store a value of this type
+	 * @param length the length of the column, can be <code>null</code>
+	 * @return the SQL type
+	 */
+	public String getSqlType(ALiteStringLength length);
+
+	/**
+	 * Returns the decorator used to write a value of this type as a SQL literal
+	 * @return the decorator
+	 */
+	public ISqlDecorator getDecorator();
+}
@@ -0,0 +1,472 @@
+/*
+ * Copyright (C) 2015 Guillaume Barré
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gb.aliteorm.lib.impl.columns;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteStatement;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Date;
+import java.util.Hashtable;
+
+import gb.aliteorm.lib.annotation.ALiteStringLength;
+import gb.aliteorm.lib.core.Attribute;
+import gb.aliteorm.lib.decorator.BooleanSqlDecorator;
+import gb.aliteorm.lib.decorator.DateSqlDecorator;
+import gb.aliteorm.lib.decorator.DummySqlDecorator;
+import gb.aliteorm.lib.decorator.ISqlDecorator;
+import gb.aliteorm.lib.decorator.StringSqlDecorator;
+import gb.aliteorm.lib.exception.UnsupportedGetterException;
+
+/**
+ * Registry of the codecs of all the types supported by ALiteOrm.
+ *
+ * @author Guillaume Barré
+ * @since 1.0
+ *
+ */
+public class ColumnCodecs {
+
+	private static final ISqlDecorator DUMMY_DECORATOR = new DummySqlDecorator();
+	private static final ISqlDecorator STRING_DECORATOR = new StringSqlDecorator();
+	private static final ISqlDecorator BOOLEAN_DECORATOR = new BooleanSqlDecorator();
+	private static final ISqlDecorator DATE_DECORATOR = new DateSqlDecorator();
+
+	private static Hashtable<Type, ColumnCodec> codecs = new Hashtable<Type, ColumnCodec>();
+
+	static{
+		register(Integer.TYPE, new IntCodec(){
+			@Override
+			public Object readResult(Cursor c, int index){
+				return c.getString(index);
+			}
+		});
+		register(Integer.class, new IntCodec());
+		register(Long.TYPE, new LongCodec(){
+			@Override
+			public Object readResult(Cursor c, int index){
+				return c.getString(index);
+			}
+		});
+		register(Long.class, new LongCodec());
+		register(Double.TYPE, new DoubleCodec(){
+			@Override
+			public Object readResult(Cursor c, int index){
+				return c.getString(index);
+			}
+		});
+		register(Double.class, new DoubleCodec());
+		register(Float.TYPE, new FloatCodec(){
+			@Override
+			public Object readResult(Cursor c, int index){
+				return c.getString(index);
+			}
+		});
+		register(Float.class, new FloatCodec());
+		register(Short.TYPE, new ShortCodec(){
+			@Override
+			public Object readResult(Cursor c, int index){
+				return c.getString(index);
+			}
+		});
+		register(Short.class, new ShortCodec());
+		register(Boolean.TYPE, new BooleanCodec(){
+			@Override
+			public Object readResult(Cursor c, int index){
+				return c.getInt(index);
+			}
+		});
+		register(Boolean.class, new BooleanCodec());
+		register(Character.TYPE, new CharCodec());
+		register(Character.class, new CharCodec());
+		register(String.class, new StringCodec());
+		register(Date.class, new DateCodec());
+		register(BigDecimal.class, new BigDecimalCodec());
+		register(BigInteger.class, new BigIntegerCodec());
+	}
+
+	/**
+	 * Registers the codec to use for a type
+	 * <p>
+	 * Registering a codec for a type already supported will replace the original codec for
+	 * all the models loaded after the registration.
+	 * @param t the type
+	 * @param codec the codec
+	 */
+	public static void register(Type t, ColumnCodec codec){
+		codecs.put(t, codec);
+	}
+
+	/**
+	 * Returns the codec of a type
+	 * @param t the type
+	 * @return the codec, <code>null</code> if the type is not supported
+	 */
+	public static ColumnCodec get(Type t){
+		return codecs.get(t);
+	}
+
+	/**
+	 * Base of the built-in codecs, the projected results are the values written into the persistent instances
+	 */
+	private static abstract class BaseCodec implements ColumnCodec{
+
+		@Override
+		public Object readResult(Cursor c, int index){
+			return read(c, index);
+		}
+
+		@Override
+		public ISqlDecorator getDecorator(){
+			return DUMMY_DECORATOR;
+		}
+	}
+
+	/**
+	 * Base of the codecs of the integer types
+	 */
+	private static abstract class IntegralCodec extends BaseCodec{
+
+		@Override
+		public void bind(SQLiteStatement st, int index, Object value){
+			st.bindLong(index, value instanceof Number ? ((Number)value).longValue() : Long.parseLong(value.toString()));
+		}
+	}
+
+	/**
+	 * Base of the codecs of the floating point types
+	 */
+	private static abstract class FloatingCodec extends BaseCodec{
+
+		@Override
+		public void bind(SQLiteStatement st, int index, Object value){
+			st.bindDouble(index, value instanceof Number ? ((Number)value).doubleValue() : Double.parseDouble(value.toString()));
+		}
+	}
+
+	/**
+	 * Codec of <code>int</code> and <code>Integer</code>
+	 */
+	private static class IntCodec extends IntegralCodec{
+
+		@Override
+		public IDBColumn newColumn(String tableName, Attribute a, Method getter) throws UnsupportedGetterException{
+			return new DBColumnInt(tableName, a, getter);
+		}
+
+		@Override
+		public Object read(Cursor c, int index){
+			return Integer.valueOf(c.getInt(index));
+		}
+
+		@Override
+		public Object readResult(Cursor c, int index){
+			return Integer.valueOf(c.getString(index));
+		}
+
+		@Override
+		public String getSqlType(ALiteStringLength length){
+			return "INTEGER";
+		}
+	}
+
+	/**
+	 * Codec of <code>long</code> and <code>Long</code>
+	 */
+	private static class LongCodec extends IntegralCodec{
+
+		@Override
+		public IDBColumn newColumn(String tableName, Attribute a, Method getter) throws UnsupportedGetterException{
+			return new DBColumnLong(tableName, a, getter);
+		}
+
+		@Override
+		public Object read(Cursor c, int index){
+			return Long.valueOf(c.getLong(index));
+		}
+
+		@Override
+		public Object readResult(Cursor c, int index){
+			return Long.valueOf(c.getString(index));
+		}
+
+		@Override
+		public String getSqlType(ALiteStringLength length){
+			return "NUMERIC";
+		}
+	}
+
+	/**
+	 * Codec of <code>short</code> and <code>Short</code>
+	 */
+	private static class ShortCodec extends IntegralCodec{
+
+		@Override
+		public IDBColumn newColumn(String tableName, Attribute a, Method getter) throws UnsupportedGetterException{
+			return new DBColumnShort(tableName, a, getter);
+		}
+
+		@Override
+		public Object read(Cursor c, int index){
+			return Short.valueOf(c.getShort(index));
+		}
+
+		@Override
+		public Object readResult(Cursor c, int index){
+			return Short.valueOf(c.getString(index));
+		}
+
+		@Override
+		public String getSqlType(ALiteStringLength length){
+			return "INTEGER";
+		}
+	}
+
+	/**
+	 * Codec of <code>double</code> and <code>Double</code>
+	 */
+	private static class DoubleCodec extends FloatingCodec{
+
+		@Override
+		public IDBColumn newColumn(String tableName, Attribute a, Method getter) throws UnsupportedGetterException{
+			return new DBColumnDouble(tableName, a, getter);
+		}
+
+		@Override
+		public Object read(Cursor c, int index){
+			return Double.valueOf(c.getDouble(index));
+		}
+
+		@Override
+		public Object readResult(Cursor c, int index){
+			return Double.valueOf(c.getString(index));
+		}
+
+		@Override
+		public String getSqlType(ALiteStringLength length){
+			return "REAL";
+		}
+	}
+
+	/**
+	 * Codec of <code>float</code> and <code>Float</code>
+	 */
+	private static class FloatCodec extends FloatingCodec{
+
+		@Override
+		public IDBColumn newColumn(String tableName, Attribute a, Method getter) throws UnsupportedGetterException{
+			return new DBColumnFloat(tableName, a, getter);
+		}
+
+		@Override
+		public Object read(Cursor c, int index){
+			return Float.valueOf(c.getFloat(index));
+		}
+
+		@Override
+		public Object readResult(Cursor c, int index){
+			return Float.valueOf(c.getString(index));
+		}
+
+		@Override
+		public String getSqlType(ALiteStringLength length){
+			return "FLOAT";
+		}
+	}
+
+	/**
+	 * Codec of <code>boolean</code> and <code>Boolean</code>
+	 */
+	private static class BooleanCodec extends BaseCodec{
+
+		@Override
+		public IDBColumn newColumn(String tableName, Attribute a, Method getter) throws UnsupportedGetterException{
+			return new DBColumnBoolean(tableName, a, getter);
+		}
+
+		@Override
+		public Object read(Cursor c, int index){
+			return Boolean.valueOf(c.getInt(index) == 1);
+		}
+
+		@Override
+		public void bind(SQLiteStatement st, int index, Object value){
+			st.bindLong(index, Boolean.parseBoolean("" + value) || "1".equals("" + value) ? 1 : 0);
+		}
+
+		@Override
+		public String getSqlType(ALiteStringLength length){
+			return "INTEGER DEFAULT '0'";
+		}
+
+		@Override
+		public ISqlDecorator getDecorator(){
+			return BOOLEAN_DECORATOR;
+		}
+	}
+
+	/**
+	 * Codec of <code>char</code> and <code>Character</code>
+	 */
+	private static class CharCodec extends BaseCodec{
+
+		@Override
+		public IDBColumn newColumn(String tableName, Attribute a, Method getter) throws UnsupportedGetterException{
+			return new DBColumnChar(tableName, a, getter);
+		}
+
+		@Override
+		public Object read(Cursor c, int index){
+			return Character.valueOf(c.getString(index).charAt(0));
+		}
+
+		@Override
+		public void bind(SQLiteStatement st, int index, Object value){
+			String s = value.toString();
+			st.bindString(index, s.trim().length() == 0 ? "" : s);
+		}
+
+		@Override
+		public String getSqlType(ALiteStringLength length){
+			return "VARCHAR(1)";
+		}
+
+		@Override
+		public ISqlDecorator getDecorator(){
+			return STRING_DECORATOR;
+		}
+	}
+
+	/**
+	 * Codec of <code>String</code>
+	 */
+	private static class StringCodec extends BaseCodec{
+
+		@Override
+		public IDBColumn newColumn(String tableName, Attribute a, Method getter) throws UnsupportedGetterException{
+			return new DBColumnString(tableName, a, getter);
+		}
+
+		@Override
+		public Object read(Cursor c, int index){
+			return c.getString(index);
+		}
+
+		@Override
+		public void bind(SQLiteStatement st, int index, Object value){
+			st.bindString(index, value.toString());
+		}
+
+		@Override
+		public String getSqlType(ALiteStringLength length){
+			if(length != null)
+				return "VARCHAR(" + length.length() + ")";
+			return "TEXT";
+		}
+
+		@Override
+		public ISqlDecorator getDecorator(){
+			return STRING_DECORATOR;
+		}
+	}
+
+	/**
+	 * Codec of <code>java.util.Date</code>, stored as a number of milliseconds
+	 */
+	private static class DateCodec extends BaseCodec{
+
+		@Override
+		public IDBColumn newColumn(String tableName, Attribute a, Method getter) throws UnsupportedGetterException{
+			return new DBColumnDate(tableName, a, getter);
+		}
+
+		@Override
+		public Object read(Cursor c, int index){
+			return new Date(Long.parseLong(c.getString(index)));
+		}
+
+		@Override
+		public void bind(SQLiteStatement st, int index, Object value){
+			st.bindLong(index, value instanceof Date ? ((Date)value).getTime() : Long.parseLong(value.toString()));
+		}
+
+		@Override
+		public String getSqlType(ALiteStringLength length){
+			return "NUMERIC";
+		}
+
+		@Override
+		public ISqlDecorator getDecorator(){
+			return DATE_DECORATOR;
+		}
+	}
+
+	/**
+	 * Codec of <code>BigDecimal</code>, stored as a String
+	 */
+	private static class BigDecimalCodec extends BaseCodec{
+
+		@Override
+		public IDBColumn newColumn(String tableName, Attribute a, Method getter) throws UnsupportedGetterException{
+			return new DBColumnBigDecimal(tableName, a, getter);
+		}
+
+		@Override
+		public Object read(Cursor c, int index){
+			return new BigDecimal(c.getString(index));
+		}
+
+		@Override
+		public void bind(SQLiteStatement st, int index, Object value){
+			st.bindString(index, value.toString());
+		}
+
+		@Override
+		public String getSqlType(ALiteStringLength length){
+			return "VARCHAR(255)";
+		}
+	}
+
+	/**
+	 * Codec of <code>BigInteger</code>, stored as a String
+	 */
+	private static class BigIntegerCodec extends BaseCodec{
+
+		@Override
+		public IDBColumn newColumn(String tableName, Attribute a, Method getter) throws UnsupportedGetterException{
+			return new DBColumnBigInteger(tableName, a, getter);
+		}
+
+		@Override
+		public Object read(Cursor c, int index){
+			return new BigInteger(c.getString(index));
+		}
+
+		@Override
+		public void bind(SQLiteStatement st, int index, Object value){
+			st.bindString(index, value.toString());
+		}
+
+		@Override
+		public String getSqlType(ALiteStringLength length){
+			return "VARCHAR(255)";
+		}
+	}
+}
@@ -21,8 +21,6 @@ import android.util.Log;
 import java.lang.reflect.Method;
 
 import gb.aliteorm.lib.core.Attribute;
-import gb.aliteorm.lib.decorator.BooleanSqlDecorator;
-import gb.aliteorm.lib.decorator.ISqlDecorator;
 import gb.aliteorm.lib.exception.UnsupportedGetterException;
 
 /**
@@ -60,7 +58,7 @@ public class DBColumnBoolean extends DBColumnImpl{
 	@Override
 	protected void readAttributed(StringBuilder strb, Object target){
 		try {
-			boolean b = (boolean)a.getGetter().invoke(target);
+			boolean b = (boolean)a.invokeGetter(target);
 			strb.append(b ? 1 : 0);
 		}catch(Exception e) {
 			Log.e("bccore", "Error getter boolean :" + a.getModelName() );
@@ -70,13 +68,8 @@ public class DBColumnBoolean extends DBColumnImpl{
 	@Override
 	protected void setAttribute(Object target, Object value, boolean isMock) throws Exception{
 		if(!isMock)
-			a.getSetter().invoke(target, value);
+			a.invokeSetter(target, value);
 		else
-			getMethodOnMock(a.getSetter(), target).invoke(target, value);
-	}
-
-	@Override
-	public ISqlDecorator getSqlDecorator(){
-		return new BooleanSqlDecorator();
+			getSetterOnMock(target).invoke(target, value);
 	}
 }
\ No newline at end of file
@@ -21,8 +21,6 @@ import android.util.Log;
 import java.lang.reflect.Method;
 
 import gb.aliteorm.lib.core.Attribute;
-import gb.aliteorm.lib.decorator.ISqlDecorator;
-import gb.aliteorm.lib.decorator.StringSqlDecorator;
 import gb.aliteorm.lib.exception.UnsupportedGetterException;
 
 /**
@@ -59,7 +57,7 @@ public class DBColumnChar extends DBColumnImpl{
 	@Override
 	public void readAttributed(StringBuilder strb, Object target){
 		try {
-			char ch = (char)a.getGetter().invoke(target);
+			char ch = (char)a.invokeGetter(target);
 			if(("" + ch).trim().length() == 0){
 				strb.append("''");
 			}else{
@@ -74,13 +72,8 @@ public class DBColumnChar extends DBColumnImpl{
 	@Override
 	protected void setAttribute(Object target, Object value, boolean isMock) throws Exception{
 		if(!isMock)
-			a.getSetter().invoke(target, value);
+			a.invokeSetter(target, value);
 		else
-			getMethodOnMock(a.getSetter(), target).invoke(target, value);
-	}
-
-	@Override
-	public ISqlDecorator getSqlDecorator(){
-		return new StringSqlDecorator();
+			getSetterOnMock(target).invoke(target, value);
 	}
 }
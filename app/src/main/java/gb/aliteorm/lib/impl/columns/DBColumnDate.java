@@ -22,8 +22,6 @@ import java.lang.reflect.Method;
 import java.util.Date;
 
 import gb.aliteorm.lib.core.Attribute;
-import gb.aliteorm.lib.decorator.DateSqlDecorator;
-import gb.aliteorm.lib.decorator.ISqlDecorator;
 import gb.aliteorm.lib.exception.UnsupportedGetterException;
 
 /**
@@ -55,7 +53,7 @@ public class DBColumnDate extends DBColumnImpl{
 	@Override
 	public void readAttributed(StringBuilder strb , Object target){
 		try {
-			Date d = (Date)a.getGetter().invoke(target);
+			Date d = (Date)a.invokeGetter(target);
 			strb.append(d.getTime());
 		}catch(Exception e) {
 			Log.e("bccore", "Error getter Date :" + a.getModelName() );
@@ -68,14 +66,14 @@ public class DBColumnDate extends DBColumnImpl{
 		Date d = (Date)value;
 		if(d.getTime() > 0){
 			if(!isMock)
-				a.getSetter().invoke(target, value);
+				a.invokeSetter(target, value);
 			else
-				getMethodOnMock(a.getSetter(), target).invoke(target, value);
+				getSetterOnMock(target).invoke(target, value);
 		}
 	}
 
 	@Override
-	public ISqlDecorator getSqlDecorator(){
-		return new DateSqlDecorator();
+	public Object getSnapshotValue(Object value){
+		return value == null ? null : Long.valueOf(((Date)value).getTime());
 	}
 }
\ No newline at end of file
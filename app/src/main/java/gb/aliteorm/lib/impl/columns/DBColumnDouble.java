@@ -60,7 +60,7 @@ public class DBColumnDouble extends DBColumnImpl{
 	@Override
 	public void readAttributed(StringBuilder strb, Object target){
 		try {
-			strb.append((double)a.getGetter().invoke(target));
+			strb.append((double)a.invokeGetter(target));
 		}catch(Exception e) {
 			// TODO WE HAVE AND EXCEPTION BECAUSE THE INVOKED METHOD RETURN NULL ( for example double no initialized )
 			// the look what we can do with the defaulted values
@@ -71,8 +71,8 @@ public class DBColumnDouble extends DBColumnImpl{
 	@Override
 	protected void setAttribute(Object target, Object value, boolean isMock) throws Exception{
 		if(!isMock)
-			a.getSetter().invoke(target, value);
+			a.invokeSetter(target, value);
 		else
-			getMethodOnMock(a.getSetter(), target).invoke(target, value);
+			getSetterOnMock(target).invoke(target, value);
 	}
 }
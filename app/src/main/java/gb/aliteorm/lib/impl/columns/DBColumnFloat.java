@@ -60,7 +60,7 @@ public class DBColumnFloat extends DBColumnImpl{
 	@Override
 	public void readAttributed(StringBuilder strb, Object target){
 		try {
-			strb.append((float)a.getGetter().invoke(target));
+			strb.append((float)a.invokeGetter(target));
 		}catch(Exception e) {
 			Log.e("bccore", "Error getter float :" + a.getModelName() );
 		}
@@ -69,8 +69,8 @@ public class DBColumnFloat extends DBColumnImpl{
 	@Override
 	protected void setAttribute(Object target, Object value, boolean isMock) throws Exception{
 		if(!isMock)
-			a.getSetter().invoke(target, value);
+			a.invokeSetter(target, value);
 		else
-			getMethodOnMock(a.getSetter(), target).invoke(target, value);
+			getSetterOnMock(target).invoke(target, value);
 	}
 }
@@ -17,16 +17,15 @@
 package gb.aliteorm.lib.impl.columns;
 
 import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
 import android.util.Log;
 
 import java.lang.reflect.Method;
+import java.util.Hashtable;
 
 import gb.aliteorm.lib.annotation.ALiteColumn;
 import gb.aliteorm.lib.annotation.ALiteId;
 import gb.aliteorm.lib.core.Attribute;
-import gb.aliteorm.lib.core.IInsertOrder;
-import gb.aliteorm.lib.core.IUpdateOrder;
-import gb.aliteorm.lib.decorator.DummySqlDecorator;
 import gb.aliteorm.lib.decorator.ISqlDecorator;
 import gb.aliteorm.lib.exception.UnsupportedGetterException;
 import gb.aliteorm.lib.tools.ALiteOrmBuilder;
@@ -45,6 +44,7 @@ public abstract class DBColumnImpl implements IDBColumn{
 	protected Attribute a;
 	private ALiteColumn c = null;
 	private ALiteId i = null;
+	private Hashtable<Class<?>, Method> mockSetters = new Hashtable<Class<?>, Method>();
 	protected String tableName;
 
 	protected abstract void defineSQL(StringBuilder strb);
@@ -155,7 +155,7 @@ public abstract class DBColumnImpl implements IDBColumn{
 
 	@Override
 	public ISqlDecorator getSqlDecorator(){
-		return new DummySqlDecorator(); // TODO 2 use singleton here
+		return a.getCodec().getDecorator();
 	}
 
 	@Override
@@ -181,17 +181,6 @@ public abstract class DBColumnImpl implements IDBColumn{
 		return strb.toString();
 	}
 
-	@Override
-	public void insertColumn(IUpdateOrder order, Object target){
-		if(target != null){
-			StringBuilder strb = new StringBuilder()
-			.append(a.getDBName())
-			.append("=")
-			.append(getValue(target));
-			order.addColumnUpdateSql(strb.toString());
-		}
-	}
-
 	@Override
 	public boolean isId(){
 		return i != null;
@@ -266,11 +255,29 @@ public abstract class DBColumnImpl implements IDBColumn{
 		db.execSQL(sql);
 	}
 
+	@Override
+	public Object readValue(Object target){
+		if(target == null)
+			return null;
+		try{
+			return a.invokeGetter(target);
+		}catch(Exception e){
+			throw new RuntimeException(" Error reading the value of the attribute : " + getAttribute().getModelName()
+					+ " on the container : " + getAttribute().getContainer().getImplementationClass(), e);
+		}
+	}
+
+	@Override
+	public Object getSnapshotValue(Object value){
+		return value;
+	}
 
 	@Override
-	public void insertColumn(IInsertOrder i, Object o){
-		if(o != null)
-			i.addColumn(a.getDBName(), getValue(o));
+	public void bindValue(SQLiteStatement st, int index, Object value){
+		if(value == null)
+			st.bindNull(index);
+		else
+			a.getCodec().bind(st, index, value);
 	}
 
 	/**
@@ -316,10 +323,27 @@ public abstract class DBColumnImpl implements IDBColumn{
 	 */
 	protected Method getMethodOnMock(Method m , Object o){
 		try {
-			// TODO eventually cache this
 			return o.getClass().getMethod(m.getName(), m.getParameterTypes());
 		} catch (NoSuchMethodException e) {
 			throw new RuntimeException("The method : " + m.getName() + " doesn't exist for the class : " + o.getClass().getCanonicalName());
 		}
 	}
+
+	/**
+	 * Return the setter of the given mock object corresponding to the setter of this column
+	 * <p>
+	 * The setter is looked for once for each mock class
+	 * @param o the mock object where to look for the setter
+	 * @return the setter
+	 * @throws Exception will be thrown is there is an issue looking for the setter of this column
+	 */
+	protected Method getSetterOnMock(Object o) throws Exception{
+		Method m = mockSetters.get(o.getClass());
+		if(m == null){
+			m = getMethodOnMock(a.getSetter(), o);
+			m.setAccessible(true);
+			mockSetters.put(o.getClass(), m);
+		}
+		return m;
+	}
 }
\ No newline at end of file
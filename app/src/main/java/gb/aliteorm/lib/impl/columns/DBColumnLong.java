@@ -60,7 +60,7 @@ public class DBColumnLong extends DBColumnImpl{
 	@Override
 	public void readAttributed(StringBuilder strb, Object target){
 		try {
-			strb.append((long)a.getGetter().invoke(target));
+			strb.append((long)a.invokeGetter(target));
 		}catch(Exception e) {
 			Log.e("bccore", "Error getter long :" + a.getModelName() );
 		}
@@ -69,8 +69,8 @@ public class DBColumnLong extends DBColumnImpl{
 	@Override
 	protected void setAttribute(Object target, Object value, boolean isMock) throws Exception{
 		if(!isMock)
-			a.getSetter().invoke(target, value);
+			a.invokeSetter(target, value);
 		else
-			getMethodOnMock(a.getSetter(), target).invoke(target, value);
+			getSetterOnMock(target).invoke(target, value);
 	}
 }
@@ -23,9 +23,6 @@ import java.lang.reflect.Method;
 
 import gb.aliteorm.lib.annotation.ALiteStringLength;
 import gb.aliteorm.lib.core.Attribute;
-import gb.aliteorm.lib.core.IInsertOrder;
-import gb.aliteorm.lib.decorator.ISqlDecorator;
-import gb.aliteorm.lib.decorator.StringSqlDecorator;
 import gb.aliteorm.lib.exception.UnsupportedGetterException;
 
 /**
@@ -72,7 +69,7 @@ public class DBColumnString extends DBColumnImpl{
 	@Override
 	public void readAttributed(StringBuilder strb, Object target){
 		try {
-			getSqlDecorator().decorate(strb, a.getGetter().invoke(target));
+			getSqlDecorator().decorate(strb, a.invokeGetter(target));
 		}catch(Exception e) {
 			Log.e("bccore", "Error getter String :" + a.getModelName() );
 		}
@@ -81,23 +78,8 @@ public class DBColumnString extends DBColumnImpl{
 	@Override
 	protected void setAttribute(Object target, Object value, boolean isMock) throws Exception{
 		if(!isMock)
-			a.getSetter().invoke(target, value);
+			a.invokeSetter(target, value);
 		else
-			getMethodOnMock(a.getSetter(), target).invoke(target, value);
-	}
-
-	@Override
-	public ISqlDecorator getSqlDecorator(){
-		return new StringSqlDecorator();
-	}
-
-	@Override
-	public void insertColumn(IInsertOrder i, Object o){
-		if(o != null){
-			String value = getValue(o);
-			if(value != null && "null".equalsIgnoreCase(value) == false && "'null'".equalsIgnoreCase(value) == false){
-				i.addColumn(a.getDBName(), value);
-			}
-		}
+			getSetterOnMock(target).invoke(target, value);
 	}
 }
\ No newline at end of file
@@ -17,10 +17,9 @@
 package gb.aliteorm.lib.impl.columns;
 
 import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
 
 import gb.aliteorm.lib.core.Attribute;
-import gb.aliteorm.lib.core.IInsertOrder;
-import gb.aliteorm.lib.core.IUpdateOrder;
 import gb.aliteorm.lib.decorator.ISqlDecorator;
 
 /**
@@ -98,18 +97,26 @@ public interface IDBColumn {
 	public void setValue(Object target, Object value, boolean isMock);
 
 	/**
-	 * Reads from the given persistent instance the column value to add into the order to insert the persistent instance
-	 * @param i the order to insert the instance
-	 * @param o the persistent instance
+	 * Reads from the given persistent instance the typed value to store into this column
+	 * @param target the persistent instance
+	 * @return the value read from the instance, <code>null</code> if the instance is <code>null</code>
+	 */
+	public Object readValue(Object target);
+
+	/**
+	 * Binds a typed value of this column to a parameter of a compiled statement
+	 * @param st the compiled statement
+	 * @param index the index of the parameter to bind, starting at 1
+	 * @param value the value to bind, <code>null</code> will bind a SQL NULL
 	 */
-	public void insertColumn(IInsertOrder i, Object o);
+	public void bindValue(SQLiteStatement st, int index, Object value);
 
 	/**
-	 * Reads from the given persistent instance the value to add into the order to update the persistent instance
-	 * @param u the order to update persistent instance
-	 * @param o the persistent instance
+	 * Converts a typed value of this column into an immutable value which can be kept to detect later changes
+	 * @param value the typed value read from a persistent instance
+	 * @return the value to keep, <code>null</code> if the typed value is <code>null</code>
 	 */
-	public void insertColumn(IUpdateOrder u, Object o);
+	public Object getSnapshotValue(Object value);
 
 	/**
 	 * Returns the database column name associated to its table name
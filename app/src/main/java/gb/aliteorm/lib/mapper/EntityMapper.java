@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2015 Guillaume Barré
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gb.aliteorm.lib.mapper;
+
+/**
+ * Plain java access to the instances of one mapped class, used instead of the reflection when it exists.
+ * <p>
+ * A mapper is usually generated at compile time by the ALiteOrm annotation processor for each class annotated
+ * with <code>@ALiteEntity</code>, <code>@ALiteEmbeddable</code> or <code>@ALiteMappedSuperclass</code>.
+ * It's looked up using the name of the mapped class followed by <code>_ALiteMapper</code>, into the same package.
+ * <p>
+ * The properties are identified by their java attribute name, resolved once to an index when the model is loaded.
+ * A property unknown by the mapper, or without setter, will be accessed using the reflection.
+ *
+ * @author Guillaume Barré
+ * @since 1.0
+ *
+ * @see EntityMappers
+ */
+public interface EntityMapper {
+
+	/**
+	 * Creates a new instance of the mapped class
+	 * @return the new instance, <code>null</code> if the mapper cannot create it
+	 */
+	public Object newInstance();
+
+	/**
+	 * Returns the index of a property of the mapped class
+	 * @param property the java attribute name of the property
+	 * @return the index of the property, <code>-1</code> if the mapper doesn't handle it or if it has no setter
+	 */
+	public int indexOf(String property);
+
+	/**
+	 * Reads the value of a property
+	 * @param target the instance to read
+	 * @param property the index of the property
+	 * @return the value
+	 */
+	public Object get(Object target, int property);
+
+	/**
+	 * Writes the value of a property
+	 * @param target the instance to write
+	 * @param property the index of the property
+	 * @param value the value
+	 */
+	public void set(Object target, int property, Object value);
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2015 Guillaume Barré
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gb.aliteorm.lib.mapper;
+
+import android.util.Log;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Hashtable;
+
+import gb.aliteorm.lib.tools.ALiteOrmBuilder;
+import gb.aliteorm.lib.tools.ILogPrefix;
+
+/**
+ * Lookup of the mappers generated for the mapped classes.
+ *
+ * @author Guillaume Barré
+ * @since 1.0
+ *
+ */
+public class EntityMappers {
+
+	/**
+	 * Suffix added to the name of a mapped class to obtain the name of its mapper
+	 */
+	public static final String MAPPER_SUFFIX = "_ALiteMapper";
+
+	private static Hashtable<Class<?>, EntityMapper> mappers = new Hashtable<Class<?>, EntityMapper>();
+	private static Hashtable<Class<?>, Class<?>> missing = new Hashtable<Class<?>, Class<?>>();
+	private static Hashtable<Class<?>, Constructor<?>> constructors = new Hashtable<Class<?>, Constructor<?>>();
+
+	/**
+	 * Returns the name of the mapper of a class
+	 * <p>
+	 * For a nested class the names of the enclosing classes are joined with "_".
+	 * @param c the mapped class
+	 * @return the fully qualified name of the mapper
+	 */
+	public static String getMapperName(Class<?> c){
+		String name = c.getName();
+		int packageEnd = name.lastIndexOf('.');
+		return name.substring(0, packageEnd + 1) + name.substring(packageEnd + 1).replace('$', '_') + MAPPER_SUFFIX;
+	}
+
+	/**
+	 * Returns the mapper of a class
+	 * @param c the mapped class
+	 * @return the mapper, <code>null</code> if no mapper has been generated for the class
+	 */
+	public static EntityMapper get(Class<?> c){
+		EntityMapper mapper = mappers.get(c);
+		if(mapper != null || missing.containsKey(c))
+			return mapper;
+		try{
+			Class<?> mc = Class.forName(getMapperName(c), true, c.getClassLoader());
+			mapper = (EntityMapper)mc.getDeclaredConstructor().newInstance();
+			mappers.put(c, mapper);
+			if(ALiteOrmBuilder.getInstance().isShowLog())
+				Log.d(ILogPrefix.ACTIVITY_LOG, "using the mapper : " + mc.getName());
+		}catch(ClassNotFoundException e){
+			missing.put(c, c);
+		}catch(Exception e){
+			if(ALiteOrmBuilder.getInstance().isShowLog())
+				Log.d(ILogPrefix.ACTIVITY_LOG, "cannot use the mapper of : " + c.getName() + " " + e.getMessage());
+			missing.put(c, c);
+		}
+		return mapper;
+	}
+
+	/**
+	 * Creates a new instance of a class using its mapper or, if there is none, using the reflection
+	 * <p>
+	 * When the reflection is used the constructor without parameter of the class is looked for only once
+	 * @param c the class to instantiate
+	 * @return the new instance
+	 * @throws InstantiationException will be thrown if the class cannot be instantiated
+	 * @throws IllegalAccessException will be thrown if the constructor of the class is not accessible
+	 */
+	public static Object newInstance(Class<?> c) throws InstantiationException, IllegalAccessException{
+		EntityMapper mapper = get(c);
+		if(mapper != null){
+			Object result = mapper.newInstance();
+			if(result != null)
+				return result;
+		}
+		Constructor<?> constructor = constructors.get(c);
+		if(constructor == null){
+			try{
+				constructor = c.getDeclaredConstructor();
+				constructor.setAccessible(true);
+			}catch(NoSuchMethodException e){
+				throw (InstantiationException)new InstantiationException("No constructor without parameter for : " + c.getName()).initCause(e);
+			}
+			constructors.put(c, constructor);
+		}
+		try{
+			return constructor.newInstance();
+		}catch(InvocationTargetException e){
+			throw (InstantiationException)new InstantiationException("Error instantiating : " + c.getName()).initCause(e.getCause());
+		}
+	}
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2015 Guillaume Barré
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gb.aliteorm.lib.mapper;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import gb.aliteorm.lib.exception.UnsupportedGetterException;
+import gb.aliteorm.lib.tools.ReflectionTools;
+
+/**
+ * Access to one property of a mapped class, resolved once.
+ * <p>
+ * The property is accessed through the mapper of the class declaring its getter when this mapper
+ * handles it, otherwise through the getter and the setter using the reflection.
+ *
+ * @author Guillaume Barré
+ * @since 1.0
+ *
+ */
+public class PropertyAccessor {
+
+	private Method getter, setter;
+	private EntityMapper mapper = null;
+	private int property = -1;
+
+	/**
+	 * Creates the accessor of the property of a POJO style getter
+	 * @param getter the getter of the property
+	 */
+	public PropertyAccessor(Method getter){
+		this(getter, null);
+	}
+
+	/**
+	 * Creates the accessor of a property
+	 * @param getter the getter of the property
+	 * @param setter the setter of the property, if <code>null</code> the POJO style setter matching the getter will be used
+	 */
+	public PropertyAccessor(Method getter, Method setter){
+		this.getter = getter;
+		this.setter = setter;
+		mapper = EntityMappers.get(getter.getDeclaringClass());
+		if(mapper != null){
+			try{
+				property = mapper.indexOf(ReflectionTools.getJavaAttributeName(getter));
+			}catch(UnsupportedGetterException e){
+				property = -1;
+			}
+		}
+	}
+
+	/**
+	 * Indicates if the property is accessed through a mapper
+	 * @return <code>true</code> if the property is accessed through a mapper, otherwise <code>false</code>
+	 */
+	public boolean isMapped(){
+		return property >= 0;
+	}
+
+	/**
+	 * Reads the value of the property
+	 * @param target the instance to read
+	 * @return the value
+	 * @throws IllegalAccessException will be thrown if the getter is not accessible
+	 * @throws InvocationTargetException will be thrown if the getter throws an exception
+	 */
+	public Object get(Object target) throws IllegalAccessException, InvocationTargetException{
+		if(property >= 0)
+			return mapper.get(target, property);
+		return getter.invoke(target);
+	}
+
+	/**
+	 * Writes the value of the property
+	 * @param target the instance to write
+	 * @param value the value
+	 * @throws IllegalAccessException will be thrown if the setter is not accessible or doesn't exist
+	 * @throws InvocationTargetException will be thrown if the setter throws an exception
+	 */
+	public void set(Object target, Object value) throws IllegalAccessException, InvocationTargetException{
+		if(property >= 0){
+			mapper.set(target, property, value);
+			return;
+		}
+		if(setter == null){
+			try{
+				setter = ReflectionTools.getSetter(getter);
+				setter.setAccessible(true);
+			}catch(NoSuchMethodException e){
+				throw new IllegalAccessException("No setter for the getter : " + getter.getName() + " of : " + getter.getDeclaringClass().getName());
+			}
+		}
+		setter.invoke(target, value);
+	}
+}
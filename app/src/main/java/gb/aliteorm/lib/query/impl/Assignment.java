@@ -0,0 +1,43 @@
+/*
+ * Copyright (C) 2015 Guillaume Barré
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gb.aliteorm.lib.query.impl;
+
+import java.util.List;
+
+import gb.aliteorm.lib.core.Entity;
+
+/**
+ * Representation of a new value assigned to an attribute by an update Criteria.
+ * <p>
+ * Built-in assignment types are provided by the Assignments factory class.
+ *
+ * @author Guillaume Barré
+ * @since 1.0
+ *
+ */
+public interface Assignment {
+
+	/**
+	 * Translates the assignment into a part of an executable an SQL sequence
+	 * <p>
+	 * The values are not written into the SQL, they are replaced by "?" parameters and added to the arguments
+	 * in the order of their parameters.
+	 * @param entity the entity using the assignment
+	 * @param args the arguments bound to the SQL sequence
+	 * @return a part of an executable an SQL sequence
+	 */
+	public String getSql(Entity entity, List<String> args);
+}
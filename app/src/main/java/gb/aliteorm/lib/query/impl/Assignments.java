@@ -0,0 +1,50 @@
+/*
+ * Copyright (C) 2015 Guillaume Barré
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gb.aliteorm.lib.query.impl;
+
+/**
+ * Factory used to get Assignment that are used to update instances using a Criteria query.
+ *
+ * @author Guillaume Barré
+ * @since 1.0
+ *
+ */
+public class Assignments {
+
+	/**
+	 * Assigns a value to an attribute
+	 *
+	 * @param attr the name of the attribute to update
+	 * @param value the value to assign, <code>null</code> will assign NULL
+	 * @return Assignment
+	 */
+	public static Assignment set(String attr, Object value){
+		return new SetExp(attr, value);
+	}
+
+	/**
+	 * Assigns the result of a SQL expression to an attribute
+	 * <p>
+	 * The expression is written as is into the update, for example <code>setSql("counter", "counter + 1")</code>
+	 *
+	 * @param attr the name of the attribute to update
+	 * @param sql the SQL expression
+	 * @return Assignment
+	 */
+	public static Assignment setSql(String attr, String sql){
+		return new SetSqlExp(attr, sql);
+	}
+}
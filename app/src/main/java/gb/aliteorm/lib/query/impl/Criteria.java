@@ -24,7 +24,13 @@ import java.util.Iterator;
 import java.util.List;
 
 import gb.aliteorm.lib.core.Entity;
+import gb.aliteorm.lib.core.EntityId;
+import gb.aliteorm.lib.core.IResultHandler;
+import gb.aliteorm.lib.core.ScrollableResult;
 import gb.aliteorm.lib.exception.RNoEntityException;
+import gb.aliteorm.lib.exception.RNoIdException;
+import gb.aliteorm.lib.exception.RNonUniqueResultException;
+import gb.aliteorm.lib.impl.columns.IDBColumn;
 import gb.aliteorm.lib.tools.ALiteOrmBuilder;
 import gb.aliteorm.lib.tools.Session;
 import gb.aliteorm.lib.tools.StringTools;
@@ -50,6 +56,10 @@ public class Criteria {
 	private ArrayList<Order> orders;
 	private ArrayList<Criterion> criterions;
 	private ArrayList<ProjAttribute> projAttributes;
+	private ArrayList<ProjGroup> groups;
+	private ArrayList<ProjAggregate> aggregates;
+	private ArrayList<Projection> selection;
+	private ArrayList<Criterion> havings;
 	
 	private ProjDistinct distinct;
 	private ProjImplementationClass implementationClass;
@@ -57,6 +67,11 @@ public class Criteria {
 	private SQLiteDatabase  db;
 	private Entity entity;
 	private int offset, limit;
+	private boolean cacheable = false;
+	private String criterionSql = null;
+	private String groupSql;
+	private String[] arguments;
+	private Object after = null;
 
 	/**
 	 * Builds a query criteria targeting the given database to select instances of the given class
@@ -74,6 +89,10 @@ public class Criteria {
 		orders = new ArrayList<Order>();
 		criterions = new ArrayList<Criterion>();
 		projAttributes = new ArrayList<ProjAttribute>();
+		groups = new ArrayList<ProjGroup>();
+		aggregates = new ArrayList<ProjAggregate>();
+		selection = new ArrayList<Projection>();
+		havings = new ArrayList<Criterion>();
 	}
 
 	/**
@@ -102,6 +121,115 @@ public class Criteria {
 		return entity.list(session, this, db, false);
 	}
 
+	/**
+	 * Returns the single instance corresponding to the constraints defined by the criteria
+	 * <p>
+	 * At most two rows are selected, only the first one is loaded.
+	 * <p>
+	 * This operation cascades to associated instances
+	 * 
+	 * @return the instance or the projected result, <code>null</code> if no instance corresponds to the criteria
+	 * @throws RNonUniqueResultException will be thrown if more than one instance corresponds to the criteria
+	 */
+	public Object uniqueResult() throws RNonUniqueResultException{
+		return result(2, true);
+	}
+
+	/**
+	 * Returns the first instance corresponding to the constraints defined by the criteria
+	 * <p>
+	 * A single row is selected, in the orders of the criteria.
+	 * <p>
+	 * This operation cascades to associated instances
+	 * 
+	 * @return the instance or the projected result, <code>null</code> if no instance corresponds to the criteria
+	 */
+	public Object firstResult(){
+		return result(1, false);
+	}
+
+	/**
+	 * Loads the first instance corresponding to the constraints defined by the criteria, selecting at most
+	 * the given number of rows
+	 * 
+	 * @param max the maximum number of selected rows, it replaces a greater limit of the criteria
+	 * @param unique indicates if the criteria must select at most one row
+	 * @return the instance or the projected result, <code>null</code> if no instance corresponds to the criteria
+	 * @throws RNonUniqueResultException will be thrown if the result must be unique and more than one row is selected
+	 */
+	private Object result(int max, boolean unique) throws RNonUniqueResultException{
+		int l = limit;
+		if(limit == 0 || limit > max)
+			limit = max;
+		try{
+			return entity.uniqueResult(session, this, db, unique);
+		}finally{
+			limit = l;
+		}
+	}
+
+	/**
+	 * Scrolls all instances corresponding to the constraints defined by the criteria
+	 * <p>
+	 * The instances are loaded one by one while the result is iterated, the result must
+	 * be closed if it's not iterated until its end.
+	 * <p>
+	 * This operation cascades to associated instances
+	 *
+	 * @return the scrollable result
+	 */
+	public ScrollableResult scroll(){
+		return entity.scroll(session, this, db, true);
+	}
+
+	/**
+	 * Scrolls all instances corresponding to the constraints defined by the criteria
+	 * <p>
+	 * The instances are loaded one by one while the result is iterated, the result must
+	 * be closed if it's not iterated until its end.
+	 * <p>
+	 * This operation won't cascade to associated instances
+	 *
+	 * @return the scrollable result
+	 */
+	public ScrollableResult scrollShallow(){
+		return entity.scroll(session, this, db, false);
+	}
+
+	/**
+	 * Passes all instances corresponding to the constraints defined by the criteria, one by one, to a handler
+	 * <p>
+	 * This operation cascades to associated instances
+	 *
+	 * @param handler the handler receiving the instances
+	 */
+	public void forEach(IResultHandler handler){
+		scroll().forEach(handler);
+	}
+
+	/**
+	 * Counts the instances corresponding to the constraints defined by the criteria
+	 * <p>
+	 * The instances are counted by the database without being loaded, the orders, the limit and the offset
+	 * are ignored.
+	 * 
+	 * @return the number of instances
+	 */
+	public long count(){
+		return entity.count(this, db);
+	}
+
+	/**
+	 * Indicates if at least one instance corresponds to the constraints defined by the criteria
+	 * <p>
+	 * The database stops at the first matching row, which is not loaded.
+	 * 
+	 * @return <code>true</code> if an instance matches the criteria, otherwise <code>false</code>
+	 */
+	public boolean exists(){
+		return entity.exists(this, db);
+	}
+
 	/**
 	 * Return a cursor providing  access to the result set returned by this criteria
 	 *
@@ -127,8 +255,27 @@ public class Criteria {
 		entity.delete(session, this, db);
 	}
 
+	/**
+	 * Updates all instances corresponding to the constraints defined by the criteria
+	 * <p>
+	 * The instances are updated by a single SQL sentence without being loaded.
+	 * <p>
+	 * This operation won't trigger callbacks
+	 * 
+	 * @param assignments the new values of the updated attributes
+	 * @return the number of updated instances
+	 * @throws IllegalArgumentException will be thrown if the criteria has projections, "having" criterions or a keyset position
+	 * @see Assignments
+	 */
+	public int update(Assignment... assignments){
+		return entity.update(session, this, db, assignments);
+	}
+
 	/**
 	 * Returns the executable SQL sentence corresponding to the constraints defined by the criteria
+	 * <p>
+	 * The values of the constraints are replaced by "?" parameters, so the criteria differing only by their
+	 * values share the same SQL sentence and SQLite can reuse the statement it has already compiled for it.
 	 *
 	 * @param includeOrder include the orders added to the criteria
 	 * @param includeLimit include the limit added to the criteria
@@ -139,6 +286,8 @@ public class Criteria {
 	public String getSql(boolean includeOrder, boolean includeLimit, boolean includeOffset){
 		StringBuilder strb =  new StringBuilder()
 		.append(getCriterionSql());
+		if(hasAggregatedPojections())
+			strb.append(groupSql);
 		if(includeOrder)
 			strb.append(getOrderSql());
 		if(includeLimit)
@@ -148,22 +297,95 @@ public class Criteria {
 		return strb.toString();
 	}
 
+	/**
+	 * Returns the "where" part of the constraints defined by the criteria, without "group by", "having", orders and limits
+	 * <p>
+	 * The arguments returned by <code>getArguments</code> match this part when <code>isRestrictionOnly</code> returns <code>true</code>.
+	 *
+	 * @return the "where" part, an empty string if there is no constraint
+	 */
+	public String getWhereSql(){
+		return getCriterionSql();
+	}
+
+	/**
+	 * Indicates whether the criteria only restricts the rows, without projections, "having" criterions or keyset position
+	 * @return <code>true</code> if the criteria can be applied to a whole table, otherwise <code>false</code>
+	 */
+	public boolean isRestrictionOnly(){
+		return !hasPojections() && havings.isEmpty() && after == null;
+	}
+
+	/**
+	 * Returns the arguments bound to the "?" parameters of the SQL sentence returned by <code>getSql</code>
+	 *
+	 * @return the arguments, in the order of their parameters
+	 */
+	public String[] getArguments(){
+		getCriterionSql();
+		return arguments;
+	}
+
 	/**
 	 * Builds the "where" part of the constraints
+	 * <p>
+	 * The "where" part, the "group by" part and their arguments are built only once, until a new
+	 * criterion or projection is added
 	 *
 	 * @return the "where" part of the constraints
 	 */
 	private String getCriterionSql(){
-		if(!criterions.isEmpty()){
-			StringBuilder s = new StringBuilder(ISqlString.WHERE_SQL);
-			for(int i = 0; i < criterions.size(); i++){
-				s.append(criterions.get(i).getSql(entity));
-				if(i + 1 < criterions.size())
+		if(criterionSql == null){
+			ArrayList<String> args = new ArrayList<String>();
+			ArrayList<Criterion> l = new ArrayList<Criterion>(criterions);
+			if(after != null)
+				l.add(new SeekExp(getSeekOrders(), after));
+			if(!l.isEmpty()){
+				StringBuilder s = new StringBuilder(ISqlString.WHERE_SQL);
+				for(int i = 0; i < l.size(); i++){
+					s.append(l.get(i).getSql(entity, args));
+					if(i + 1 < l.size())
+						s.append(ISqlString.AND_SQL);
+				}
+				criterionSql = s.toString();
+			}else{
+				criterionSql = "";
+			}
+			groupSql = getGroupSql(args);
+			arguments = args.toArray(new String[args.size()]);
+		}
+		return criterionSql;
+	}
+
+	/**
+	 * Builds the "group by" and the "having" parts of the constraints
+	 *
+	 * @param args the arguments bound to the SQL sentence
+	 * @return the "group by" and the "having" parts of the constraints
+	 * @throws IllegalStateException will be thrown if "having" criterions are defined without grouping attributes
+	 */
+	private String getGroupSql(List<String> args) throws IllegalStateException{
+		// Before 3.39 SQLite refuses a "having" clause without "group by"
+		if(!havings.isEmpty() && groups.isEmpty())
+			throw new IllegalStateException("A criteria with \"having\" criterions requires at least one groupProperty projection");
+		StringBuilder s = new StringBuilder();
+		if(!groups.isEmpty()){
+			s.append(ISqlString.GROUP_BY_SQL);
+			for(int i = 0; i < groups.size(); i++){
+				s.append(groups.get(i).getSql(entity));
+				if(i + 1 < groups.size())
+					s.append(",");
+			}
+		}
+		if(!havings.isEmpty()){
+			s.append(ISqlString.HAVING_SQL);
+			for(int i = 0; i < havings.size(); i++){
+				s.append(havings.get(i).getSql(entity, args));
+				if(i + 1 < havings.size())
 					s.append(ISqlString.AND_SQL);
 			}
-			return s.toString();
 		}
-		return "";
+		return s.toString();
 	}
 
 	/**
@@ -172,11 +394,12 @@ public class Criteria {
 	 * @return the "order by" part of the constraints
 	 */
 	private String getOrderSql(){
-		if(!orders.isEmpty()){
+		List<Order> l = after != null ? getSeekOrders() : orders;
+		if(!l.isEmpty()){
 			StringBuilder s = new StringBuilder(ISqlString.ORDER_BY_SQL);
-			Iterator<Order> it = orders.iterator();
+			Iterator<Order> it = l.iterator();
 			while (it.hasNext()) {
-				s.append(it.next().getSql())
+				s.append(it.next().getSql(entity))
 				.append(",");
 			}
 			return StringTools.removeLastChar(s.toString());
@@ -184,6 +407,32 @@ public class Criteria {
 		return "";
 	}
 
+	/**
+	 * Returns the orders used to seek the rows following an instance
+	 * <p>
+	 * The id attributes which are not already sorted are added at the end of the orders to identify a single row
+	 *
+	 * @return the orders
+	 * @throws RNoIdException will be thrown if the entity has no id
+	 */
+	private List<Order> getSeekOrders() throws RNoIdException{
+		EntityId id = entity.getId();
+		if(id == null)
+			throw new RNoIdException(" id not found for : " + entity.getTable().getTableName());
+		ArrayList<Order> result = new ArrayList<Order>(orders);
+		IDBColumn[] columns = id.getColumns();
+		for(int i = 0; i < columns.length; i++){
+			String p = columns[i].getAttribute().getModelName();
+			boolean sorted = false;
+			for(int j = 0; j < orders.size() && !sorted; j++){
+				sorted = orders.get(j).getProperty().equalsIgnoreCase(p);
+			}
+			if(!sorted)
+				result.add(Order.asc(p));
+		}
+		return result;
+	}
+
 	/**
 	 * Adds an order constraints to the criteria
 	 *
@@ -192,6 +441,27 @@ public class Criteria {
 	 */
 	public Criteria addOrder(Order order){
 		orders.add(order);
+		criterionSql = null;
+		return this;
+	}
+
+	/**
+	 * Restricts the result to the rows which follow an instance in the orders of the criteria
+	 * <p>
+	 * Passing the last instance of a page returns the next page without reading the rows of the previous
+	 * pages, like an offset does. The id is added to the orders to identify a single row, the sorted
+	 * attributes of the instance must not be <code>null</code>.
+	 * <p>
+	 * Example:
+	 * <p>
+	 * <code>criteria.addOrder(Order.desc("date")).after(lastOfPage).setLimit(20).list()</code>
+	 *
+	 * @param last the last instance of the previous page, <code>null</code> to return the first page
+	 * @return the criteria
+	 */
+	public Criteria after(Object last){
+		after = last;
+		criterionSql = null;
 		return this;
 	}
 
@@ -203,6 +473,7 @@ public class Criteria {
 	 */
 	public Criteria add(Criterion criterion){
 		criterions.add(criterion);
+		criterionSql = null;
 		return this;
 	}
 	
@@ -215,6 +486,13 @@ public class Criteria {
 	public Criteria add(Projection projection){
 		if(projection instanceof ProjAttribute)
 			projAttributes.add((ProjAttribute)projection);
+		if(projection instanceof ProjGroup)
+			groups.add((ProjGroup)projection);
+		if(projection instanceof ProjAggregate)
+			aggregates.add((ProjAggregate)projection);
+		if(projection instanceof ProjAttribute || projection instanceof ProjGroup || projection instanceof ProjAggregate)
+			selection.add(projection);
+		criterionSql = null;
 		if(projection instanceof ProjDistinct )
 			distinct =  (ProjDistinct)projection;
 		if(projection instanceof ProjImplementationClass)
@@ -222,6 +500,27 @@ public class Criteria {
 		return this;
 	}
 
+	/**
+	 * Adds a criterion to the "having" part of the criteria
+	 * <p>
+	 * The "having" criterions filter the groups of rows of a criteria with aggregated projections, they can test
+	 * the aggregated values or the grouping attributes. The criteria must also define at least one
+	 * <code>Projections.groupProperty</code>, otherwise an <code>IllegalStateException</code> will be thrown when it's executed.
+	 * <p>
+	 * Example:
+	 * <p>
+	 * <code>criteria.add(Projections.groupProperty("city")).addHaving(Projections.rowCount().gt(10))</code>
+	 *
+	 * @param criterion the criterion to add
+	 * @return the criteria
+	 * @see ProjAggregate
+	 */
+	public Criteria addHaving(Criterion criterion){
+		havings.add(criterion);
+		criterionSql = null;
+		return this;
+	}
+
 	/**
 	 * Specifies the offset to apply to the query result
 	 *
@@ -246,6 +545,31 @@ public class Criteria {
 		return this;
 	}
 
+	/**
+	 * Specifies if the result of the criteria can be taken from the query cache
+	 * <p>
+	 * The rows returned by a cacheable criteria are kept into a cache shared by all the sessions, until
+	 * its table is written. Only the lists use the cache, the element collections of the listed instances
+	 * are always loaded from the database.
+	 *
+	 * @param cacheable <code>true</code> to use the query cache
+	 * @return the criteria
+	 * @see ALiteOrmBuilder#getQueryCache()
+	 */
+	public Criteria setCacheable(boolean cacheable) {
+		this.cacheable = cacheable;
+		return this;
+	}
+
+	/**
+	 * Indicates if the result of the criteria can be taken from the query cache
+	 *
+	 * @return <code>true</code> if the criteria uses the query cache, otherwise <code>false</code>
+	 */
+	public boolean isCacheable() {
+		return cacheable;
+	}
+
 	/**
 	 * Returns the SQL limit sentence
 	 *
@@ -280,6 +604,18 @@ public class Criteria {
 	 * @return the SQL select sentence
 	 */
 	public String getSelect(){
+		if(hasAggregatedPojections()){
+			StringBuilder strb = new StringBuilder(ISqlString.SELECT_SQL);
+			if(distinct != null)
+				strb.append(distinct.getSql(entity));
+			for(int i = 0; i < selection.size(); i++){
+				strb.append(selection.get(i).getSql(entity));
+				if(i + 1 < selection.size())
+					strb.append(",");
+			}
+			strb.append(" FROM ");
+			return strb.toString();
+		}
 		if(projAttributes.isEmpty()){
 			if(distinct == null)
 				return ISqlString.SELECT_ALL_SQL;
@@ -306,7 +642,7 @@ public class Criteria {
 	 * @return <CODE>true</CODE> if it contains projections, <CODE>false</CODE> otherwise.
 	 */
 	public boolean hasPojections(){
-		return !projAttributes.isEmpty();
+		return !projAttributes.isEmpty() || hasAggregatedPojections();
 	}
 	
 	/**
@@ -314,8 +650,16 @@ public class Criteria {
 	 * @return <CODE>true</CODE> if it contains aggregated projections, <CODE>false</CODE> otherwise.
 	 */
 	public boolean hasAggregatedPojections(){
-		// TODO FINISH THIS
-		return false;
+		return !aggregates.isEmpty() || !groups.isEmpty();
+	}
+
+	/**
+	 * Returns an iterator on the projections of a criteria with aggregated projections, in the order of the
+	 * columns of its result
+	 * @return the iterator on the projected attributes, the grouping attributes and the aggregated values
+	 */
+	public Iterator<Projection> getAggregatedSelection(){
+		return selection.iterator();
 	}
 	
 	/**
@@ -15,6 +15,8 @@
  */
 package gb.aliteorm.lib.query.impl;
 
+import java.util.List;
+
 import gb.aliteorm.lib.core.Entity;
 
 /**
@@ -30,8 +32,12 @@ public interface Criterion {
 
 	/**
 	 * Translates the constraint into a part of an executable an SQL sequence
+	 * <p>
+	 * The values are not written into the SQL, they are replaced by "?" parameters and added to the arguments
+	 * in the order of their parameters.
 	 * @param entity the entity using the criterion
+	 * @param args the arguments bound to the SQL sequence
 	 * @return a part of an executable an SQL sequence
 	 */
-	public String getSql(Entity entity);
+	public String getSql(Entity entity, List<String> args);
 }
\ No newline at end of file
@@ -16,6 +16,8 @@
 
 package gb.aliteorm.lib.query.impl;
 
+import java.util.List;
+
 import gb.aliteorm.lib.core.Entity;
 import gb.aliteorm.lib.exception.RWrongPropertyNameException;
 import gb.aliteorm.lib.impl.columns.IDBColumn;
@@ -44,7 +46,7 @@ public class GreaterEqualsPropExp implements Criterion{
 	}
 
 	@Override
-	public String getSql(Entity e) {
+	public String getSql(Entity e, List<String> args) {
 		IDBColumn colp = e.getTable().getColumn(pN);
 		if(colp == null)
 			throw new RWrongPropertyNameException("attribute :" + pN + " not found for :" + e.getTable().getTableName());
@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2015 Guillaume Barré
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gb.aliteorm.lib.query.impl;
+
+import java.util.Date;
+import java.util.List;
+
+import gb.aliteorm.lib.core.Entity;
+import gb.aliteorm.lib.impl.columns.IDBColumn;
+
+/**
+ * Implementation of a "having" restriction comparing an aggregated value to the specified value
+ * <p>
+ * An aggregated value has no type affinity, the numeric values are cast into numbers before being compared to it.
+ *
+ * @author Guillaume Barré
+ * @since 1.0
+ *
+ */
+public class HavingExp implements Criterion{
+
+	private final ProjAggregate p;
+	private final String operator;
+	private final Object v;
+
+	/**
+	 * Create the new restriction
+	 * @param projection the aggregated value to test
+	 * @param operator the comparison operator
+	 * @param value the tested value
+	 */
+	protected HavingExp(ProjAggregate projection, String operator, Object value){
+		p = projection;
+		this.operator = operator;
+		v = value;
+	}
+
+	@Override
+	public String getSql(Entity e, List<String> args) {
+		StringBuilder s = new StringBuilder()
+		.append(p.getSql(e))
+		.append(operator);
+		if(v == null){
+			s.append("NULL");
+			return s.toString();
+		}
+		IDBColumn col = p.getColumn(e);
+		String arg = "" + v;
+		boolean numeric = v instanceof Number;
+		if(col != null && !numeric){
+			arg = col.getSqlDecorator().toArgument(v);
+			numeric = v instanceof Date || v instanceof Boolean;
+		}
+		s.append(numeric ? "CAST(? AS NUMERIC)" : "?");
+		args.add(arg);
+		return s.toString();
+	}
+}
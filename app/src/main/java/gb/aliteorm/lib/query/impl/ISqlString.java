@@ -36,13 +36,30 @@ public interface ISqlString {
 
 	public static final String DELETE_ALL_SQL = "DELETE FROM %1$s";
 	public static final String COUNT_SQL = SELECT_SQL + "COUNT(*) FROM %1$s";
+	public static final String COUNT_SUB_SQL = SELECT_SQL + "COUNT(*) FROM (%1$s)";
+	public static final String EXISTS_SQL = SELECT_SQL + "1 FROM %1$s %2$s LIMIT 1";
 
 	public static final String DELETE_ORPHANS = "DELETE FROM %1$s WHERE %2$s NOT IN ( SELECT DISTINCT(%3$s) FROM %4$s)";
 
+	public static final String FOREIGN_KEY_SQL = "FOREIGN KEY (%1$s) REFERENCES %2$s (%3$s) ON DELETE CASCADE";
+	public static final String CREATE_INDEX_SQL = "CREATE INDEX IF NOT EXISTS %1$s ON %2$s (%3$s)";
+	public static final String FOREIGN_KEYS_ON_SQL = "PRAGMA foreign_keys=ON";
+	public static final String FOREIGN_KEY_LIST_SQL = "PRAGMA foreign_key_list(%1$s)";
+	// Indexes created by PRIMARY KEY and UNIQUE constraints have no SQL and cannot be dropped
+	public static final String INDEXES_SQL = SELECT_SQL + "name, sql FROM sqlite_master WHERE type = 'index' AND tbl_name = ? AND sql IS NOT NULL";
+	public static final String DROP_INDEX_SQL = "DROP INDEX IF EXISTS %1$s";
+
 	public static final String LIMIT_SQL = " LIMIT %1$s ";
 	public static final String OFFSET_SQL = " OFFSET %1$s ";
 
+	public static final String SAVEPOINT_SQL = "SAVEPOINT %1$s";
+	public static final String RELEASE_SAVEPOINT_SQL = "RELEASE %1$s";
+	// The leading comment prevents Android from taking this for a "ROLLBACK" ending the whole transaction
+	public static final String ROLLBACK_TO_SAVEPOINT_SQL = "/* savepoint */ ROLLBACK TO %1$s";
+
 	public static final String ORDER_BY_SQL = " ORDER BY ";
 	public static final String WHERE_SQL = " WHERE ";
 	public static final String AND_SQL = " AND ";
+	public static final String GROUP_BY_SQL = " GROUP BY ";
+	public static final String HAVING_SQL = " HAVING ";
 }
\ No newline at end of file
@@ -16,9 +16,10 @@
 
 package gb.aliteorm.lib.query.impl;
 
+import java.util.List;
+
 import gb.aliteorm.lib.core.Entity;
 import gb.aliteorm.lib.core.EntityId;
-import gb.aliteorm.lib.core.TravelingComplexId;
 import gb.aliteorm.lib.exception.RNoIdException;
 import gb.aliteorm.lib.impl.columns.IDBColumn;
 
@@ -43,7 +44,7 @@ public class IdEqExp implements Criterion{
 	}
 
 	@Override
-	public String getSql(Entity e) {
+	public String getSql(Entity e, List<String> args) {
 		EntityId id = e.getId();
 		if(id == null)
 			throw new RNoIdException(" id not found for : " + e.getTable().getTableName());
@@ -55,13 +56,19 @@ public class IdEqExp implements Criterion{
 			.append(".")
 			.append(idCOlumn.getAttribute().getDBName())
 			.append("=");
-			idCOlumn.getSqlDecorator().decorate(s, v);
+			SqlTools.appendArgument(s, idCOlumn, v, args);
 			return s.toString();
 		}else{
-			StringBuilder s = new StringBuilder()
-			.append(" ")
-			.append(id.getWhereOn(new TravelingComplexId(v)))
-			.append(" ");
+			IDBColumn[] columns = id.getColumns();
+			StringBuilder s = new StringBuilder(" ");
+			for(int i = 0; i < columns.length; i++){
+				s.append(columns[i].getAttribute().getDBName())
+				.append("=");
+				SqlTools.appendArgument(s, columns[i], columns[i].readValue(v), args);
+				if(i + 1 < columns.length)
+					s.append(ISqlString.AND_SQL);
+			}
+			s.append(" ");
 			return s.toString();
 		}
 	}
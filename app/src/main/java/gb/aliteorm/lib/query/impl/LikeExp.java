@@ -16,6 +16,8 @@
 // TODO JAVADOC
 package gb.aliteorm.lib.query.impl;
 
+import java.util.List;
+
 import gb.aliteorm.lib.core.Entity;
 import gb.aliteorm.lib.exception.RWrongPropertyNameException;
 import gb.aliteorm.lib.impl.columns.DBColumnBoolean;
@@ -59,7 +61,7 @@ public class LikeExp implements Criterion{
 	}
 
 	@Override
-	public String getSql(Entity e) {
+	public String getSql(Entity e, List<String> args) {
 		IDBColumn col = e.getTable().getColumn(pN);
 		if(col == null)
 			throw new RWrongPropertyNameException("attribute :" + pN + " not found for :" + e.getTable().getTableName());
@@ -78,18 +80,12 @@ public class LikeExp implements Criterion{
 				s = "%" + s;
 		}
 
-		String str = "";
 		if(col instanceof DBColumnDate){
-			str = s;
+			st.append("?");
+			args.add(s);
 		}else{
-			str = col.getSqlDecorator().decorate(s);
+			SqlTools.appendArgument(st, col, s, args);
 		}
-
-		if(!str.startsWith("'"))
-			str = "'" + str;
-		if(!str.endsWith("'"))
-			str = str + "'";
-		st.append(str);
 		return st.toString();
 	}
 }
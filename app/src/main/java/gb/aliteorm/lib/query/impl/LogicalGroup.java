@@ -18,6 +18,7 @@ package gb.aliteorm.lib.query.impl;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 import gb.aliteorm.lib.core.Entity;
 
@@ -50,11 +51,11 @@ public class LogicalGroup implements Criterion{
 	}
 
 	@Override
-	public String getSql(Entity entity) {
+	public String getSql(Entity entity, List<String> args) {
 		StringBuilder s = new StringBuilder()
 		.append("(");
 		for(int i = 0; i < crits.size(); i++){
-			s.append(crits.get(i).getSql(entity));
+			s.append(crits.get(i).getSql(entity, args));
 			if(i + 1 < crits.size()){
 				s.append(" ")
 				.append(operator)
@@ -16,6 +16,8 @@
 
 package gb.aliteorm.lib.query.impl;
 
+import java.util.List;
+
 import gb.aliteorm.lib.core.Entity;
 import gb.aliteorm.lib.exception.RWrongPropertyNameException;
 import gb.aliteorm.lib.impl.columns.IDBColumn;
@@ -43,7 +45,7 @@ public class LowerEqualsExp implements Criterion{
 	}
 
 	@Override
-	public String getSql(Entity e) {
+	public String getSql(Entity e, List<String> args) {
 		IDBColumn col = e.getTable().getColumn(pN);
 		if(col == null)
 			throw new RWrongPropertyNameException("attribute :" + pN + " not found for :" + e.getTable().getTableName());
@@ -53,7 +55,7 @@ public class LowerEqualsExp implements Criterion{
 		.append(".")
 		.append(col.getAttribute().getDBName())
 		.append("<=");
-		col.getSqlDecorator().decorate(s, v);
+		SqlTools.appendArgument(s, col, v, args);
 		return s.toString();
 	}
 }
\ No newline at end of file
@@ -16,6 +16,9 @@
 
 package gb.aliteorm.lib.query.impl;
 
+import gb.aliteorm.lib.core.Entity;
+import gb.aliteorm.lib.impl.columns.IDBColumn;
+
 /**
  * Sorting type used to order query results of Criteria query
  *
@@ -72,4 +75,34 @@ public class Order{
 	public String getSql() {
 		return pN + " " + (s == Sorting.ASC ? "asc" : "desc");
 	}
+
+	/**
+	 * Translates the constraint into executable an SQL sequence ( wont contains ORDER BY )
+	 * <p>
+	 * The sorted attribute is replaced by its mapped column, if it's not an attribute of the entity it's used as it is
+	 * @param e the entity using the constraint
+	 * @return an executable an SQL sequence
+	 */
+	public String getSql(Entity e) {
+		IDBColumn col = e.getTable().getColumn(pN);
+		if(col == null)
+			return getSql();
+		return e.getTable().getTableName() + "." + col.getAttribute().getDBName() + " " + (s == Sorting.ASC ? "asc" : "desc");
+	}
+
+	/**
+	 * Returns the sorted attribute
+	 * @return the name of the attribute
+	 */
+	protected String getProperty() {
+		return pN;
+	}
+
+	/**
+	 * Indicates if the sorting is ascending
+	 * @return <code>true</code> if the sorting is ascending, <code>false</code> if it's descending
+	 */
+	protected boolean isAscending() {
+		return s == Sorting.ASC;
+	}
 }
\ No newline at end of file
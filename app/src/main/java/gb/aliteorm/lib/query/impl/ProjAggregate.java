@@ -0,0 +1,159 @@
+/*
+ * Copyright (C) 2015 Guillaume Barré
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gb.aliteorm.lib.query.impl;
+
+import gb.aliteorm.lib.core.Entity;
+import gb.aliteorm.lib.exception.RWrongPropertyNameException;
+import gb.aliteorm.lib.impl.columns.IDBColumn;
+
+/**
+ * Implementation of a projection to add an aggregated value to the result of a criteria query
+ * <p>
+ * The aggregated value is computed by the database on all the rows matching the criteria or, if the criteria
+ * contains group projections, on each group of rows.
+ * 
+ * @author Guillaume Barré
+ * @since 1.0
+ *
+ */
+public class ProjAggregate implements Projection{
+
+	public static final String COUNT = "COUNT";
+	public static final String SUM = "SUM";
+	public static final String AVG = "AVG";
+	public static final String MIN = "MIN";
+	public static final String MAX = "MAX";
+
+	private final String function;
+	private final String pN;
+	private final boolean distinct;
+
+	/**
+	 * Create the new projection
+	 * @param function the aggregate function
+	 * @param attr the name of the aggregated attribute, <code>null</code> to count the rows
+	 * @param distinct indicates if only the distinct values are aggregated
+	 */
+	protected ProjAggregate(String function, String attr, boolean distinct){
+		this.function = function;
+		this.pN = attr;
+		this.distinct = distinct;
+	}
+
+	@Override
+	public String getSql(Entity e) {
+		StringBuilder s = new StringBuilder()
+		.append(" ")
+		.append(function)
+		.append("(");
+		if(pN == null){
+			s.append("*");
+		}else{
+			if(distinct)
+				s.append("DISTINCT ");
+			s.append(e.getTable().getTableName())
+			.append(".")
+			.append(getColumn(e).getAttribute().getDBName());
+		}
+		s.append(")");
+		return s.toString();
+	}
+
+	/**
+	 * Returns the column of the aggregated attribute
+	 * @param e the entity using the projection
+	 * @return the column, <code>null</code> if the projection counts the rows
+	 */
+	public IDBColumn getColumn(Entity e){
+		if(pN == null)
+			return null;
+		IDBColumn col = e.getTable().getColumn(pN);
+		if(col == null)
+			throw new RWrongPropertyNameException("attribute :" + pN + " not found for :" + e.getTable().getTableName());
+		return col;
+	}
+
+	/**
+	 * Returns the aggregate function
+	 * @return the function
+	 */
+	public String getFunction(){
+		return function;
+	}
+
+	/**
+	 * Returns the name of the aggregated attribute
+	 * @return the name, <code>null</code> if the projection counts the rows
+	 */
+	public String getAttributeName(){
+		return pN;
+	}
+
+	/**
+	 * Creates a "having" restriction keeping the groups whose aggregated value equals the given value
+	 * @param value the tested value
+	 * @return the restriction, to add using <code>Criteria.addHaving(Criterion)</code>
+	 */
+	public Criterion eq(Object value){
+		return new HavingExp(this, "=", value);
+	}
+
+	/**
+	 * Creates a "having" restriction keeping the groups whose aggregated value differs from the given value
+	 * @param value the tested value
+	 * @return the restriction, to add using <code>Criteria.addHaving(Criterion)</code>
+	 */
+	public Criterion ne(Object value){
+		return new HavingExp(this, "!=", value);
+	}
+
+	/**
+	 * Creates a "having" restriction keeping the groups whose aggregated value is greater than the given value
+	 * @param value the tested value
+	 * @return the restriction, to add using <code>Criteria.addHaving(Criterion)</code>
+	 */
+	public Criterion gt(Object value){
+		return new HavingExp(this, ">", value);
+	}
+
+	/**
+	 * Creates a "having" restriction keeping the groups whose aggregated value is greater than or equal to the given value
+	 * @param value the tested value
+	 * @return the restriction, to add using <code>Criteria.addHaving(Criterion)</code>
+	 */
+	public Criterion ge(Object value){
+		return new HavingExp(this, ">=", value);
+	}
+
+	/**
+	 * Creates a "having" restriction keeping the groups whose aggregated value is lower than the given value
+	 * @param value the tested value
+	 * @return the restriction, to add using <code>Criteria.addHaving(Criterion)</code>
+	 */
+	public Criterion lt(Object value){
+		return new HavingExp(this, "<", value);
+	}
+
+	/**
+	 * Creates a "having" restriction keeping the groups whose aggregated value is lower than or equal to the given value
+	 * @param value the tested value
+	 * @return the restriction, to add using <code>Criteria.addHaving(Criterion)</code>
+	 */
+	public Criterion le(Object value){
+		return new HavingExp(this, "<=", value);
+	}
+}
@@ -56,6 +56,87 @@ public class Projections {
 	public static Projection implementationClass(Class<?> clazz){
 		return new ProjImplementationClass(clazz);
 	}
+
+	/**
+	 * Adds attribute value projection grouping the rows of the result by the values of the attribute
+	 * <p>
+	 * The criteria then returns one row for each distinct value of the attribute
+	 *
+	 * @param attr the name of the attribute whose values should add to the result set
+	 * @return Projection
+	 */
+	public static Projection groupProperty(String attr){
+		return new ProjGroup(attr);
+	}
+
+	/**
+	 * Adds the number of rows projection
+	 *
+	 * @return Projection
+	 */
+	public static ProjAggregate rowCount(){
+		return new ProjAggregate(ProjAggregate.COUNT, null, false);
+	}
+
+	/**
+	 * Adds the number of non null values projection
+	 *
+	 * @param attr the name of the aggregated attribute
+	 * @return Projection
+	 */
+	public static ProjAggregate count(String attr){
+		return new ProjAggregate(ProjAggregate.COUNT, attr, false);
+	}
+
+	/**
+	 * Adds the number of distinct non null values projection
+	 *
+	 * @param attr the name of the aggregated attribute
+	 * @return Projection
+	 */
+	public static ProjAggregate countDistinct(String attr){
+		return new ProjAggregate(ProjAggregate.COUNT, attr, true);
+	}
+
+	/**
+	 * Adds the sum of the values projection
+	 *
+	 * @param attr the name of the aggregated attribute
+	 * @return Projection
+	 */
+	public static ProjAggregate sum(String attr){
+		return new ProjAggregate(ProjAggregate.SUM, attr, false);
+	}
+
+	/**
+	 * Adds the average of the values projection
+	 *
+	 * @param attr the name of the aggregated attribute
+	 * @return Projection
+	 */
+	public static ProjAggregate avg(String attr){
+		return new ProjAggregate(ProjAggregate.AVG, attr, false);
+	}
+
+	/**
+	 * Adds the minimum value projection
+	 *
+	 * @param attr the name of the aggregated attribute
+	 * @return Projection
+	 */
+	public static ProjAggregate min(String attr){
+		return new ProjAggregate(ProjAggregate.MIN, attr, false);
+	}
+
+	/**
+	 * Adds the maximum value projection
+	 *
+	 * @param attr the name of the aggregated attribute
+	 * @return Projection
+	 */
+	public static ProjAggregate max(String attr){
+		return new ProjAggregate(ProjAggregate.MAX, attr, false);
+	}
 }
 
 /**
@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2015 Guillaume Barré
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gb.aliteorm.lib.query.impl;
+
+import java.util.List;
+
+import gb.aliteorm.lib.core.Entity;
+import gb.aliteorm.lib.exception.RWrongPropertyNameException;
+import gb.aliteorm.lib.impl.columns.IDBColumn;
+
+/**
+ * Implementation of a "seek" restriction keeping the rows which follow an instance in the given orders
+ * <p>
+ * The restriction is written as <code>(a &gt; ?) OR (a = ? AND b &gt; ?) ...</code>, the comparison being reversed
+ * for the descending orders, so the database can use an index on the sorted columns instead of skipping
+ * the previous rows like an offset does.
+ *
+ * @author Guillaume Barré
+ * @since 1.0
+ *
+ */
+public class SeekExp implements Criterion{
+
+	private final List<Order> orders;
+	private final Object last;
+
+	/**
+	 * Create the new restriction
+	 * @param orders the orders of the rows, they must identify a single row
+	 * @param last the instance after which the rows are kept
+	 */
+	protected SeekExp(List<Order> orders, Object last){
+		this.orders = orders;
+		this.last = last;
+	}
+
+	@Override
+	public String getSql(Entity e, List<String> args) {
+		IDBColumn[] cols = new IDBColumn[orders.size()];
+		Object[] values = new Object[cols.length];
+		for(int i = 0; i < cols.length; i++){
+			cols[i] = e.getTable().getColumn(orders.get(i).getProperty());
+			if(cols[i] == null)
+				throw new RWrongPropertyNameException("attribute :" + orders.get(i).getProperty() + " not found for :" + e.getTable().getTableName());
+			values[i] = cols[i].readValue(cols[i].getAttribute().getTarget(last));
+		}
+		StringBuilder s = new StringBuilder(" (");
+		for(int i = 0; i < cols.length; i++){
+			s.append("(");
+			for(int j = 0; j < i; j++){
+				appendColumn(s, e, cols[j]);
+				s.append("=");
+				SqlTools.appendArgument(s, cols[j], values[j], args);
+				s.append(ISqlString.AND_SQL);
+			}
+			appendColumn(s, e, cols[i]);
+			s.append(orders.get(i).isAscending() ? ">" : "<");
+			SqlTools.appendArgument(s, cols[i], values[i], args);
+			s.append(")");
+			if(i + 1 < cols.length)
+				s.append(" OR ");
+		}
+		s.append(") ");
+		return s.toString();
+	}
+
+	/**
+	 * Appends the name of a column, prefixed by the name of its table
+	 * @param s the SQL sentence
+	 * @param e the entity
+	 * @param col the column
+	 */
+	private void appendColumn(StringBuilder s, Entity e, IDBColumn col){
+		s.append(e.getTable().getTableName())
+		.append(".")
+		.append(col.getAttribute().getDBName());
+	}
+}
@@ -20,6 +20,9 @@ import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
 import android.util.Log;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import gb.aliteorm.lib.core.Entity;
 import gb.aliteorm.lib.impl.columns.IDBColumn;
 import gb.aliteorm.lib.tools.ALiteOrmBuilder;
@@ -35,6 +38,16 @@ import gb.aliteorm.lib.tools.ILogPrefix;
  */
 public class SqlTools {
 
+	/**
+	 * SQLite limit on the number of "?" parameters into a single statement
+	 */
+	public static final int MAX_PARAMETERS = 999;
+
+	/**
+	 * SQLite limit on the number of selects combined by UNION ALL into a single statement
+	 */
+	public static final int MAX_COMPOUND_SELECTS = 500;
+
 	/**
 	 * Counts all the row within the given table.
 	 *
@@ -43,15 +56,31 @@ public class SqlTools {
 	 * @return the number of rows
 	 */
 	public static int countAll(SQLiteDatabase db, String tableName){
-		String sql = String.format(ISqlString.COUNT_SQL, tableName);
+		return (int)queryForLong(db, String.format(ISqlString.COUNT_SQL, tableName), new String[] {});
+	}
+
+	/**
+	 * Executes a query returning a single number
+	 *
+	 * @param db the database
+	 * @param sql the SQL sentence of the query
+	 * @param args the arguments bound to the "?" parameters of the query
+	 * @return the number returned by the first row, 0 if the query has returned no row
+	 */
+	public static long queryForLong(SQLiteDatabase db, String sql, String[] args){
 		if(ALiteOrmBuilder.getInstance().isShowSQL())
 			Log.d(ILogPrefix.SQL_LOG, sql);
 
-		Cursor c = db.rawQuery(sql, new String[] {});
-		if (c != null && c.moveToFirst()) {
-			return c.getInt(0);
+		Cursor c = db.rawQuery(sql, args);
+		try{
+			if (c != null && c.moveToFirst()) {
+				return c.getLong(0);
+			}
+			return 0;
+		}finally{
+			if(c != null)
+				c.close();
 		}
-		return 0;
 	}
 
 	/**
@@ -68,10 +97,15 @@ public class SqlTools {
 			Log.d(ILogPrefix.SQL_LOG, sql);
 
 		Cursor c = db.rawQuery(sql, new String[] {});
-		if (c != null && c.moveToFirst()) {
-			return c.getInt(0);
+		try{
+			if (c != null && c.moveToFirst()) {
+				return c.getInt(0);
+			}
+			return -1;
+		}finally{
+			if(c != null)
+				c.close();
 		}
-		return -1;
 	}
 
 	/**
@@ -102,4 +136,111 @@ public class SqlTools {
 			Log.d(ILogPrefix.SQL_LOG, sql);
 		db.execSQL(sql);
 	}
+
+	/**
+	 * Drops all the indexes of a table which can be dropped.
+	 * <p>
+	 * The indexes created by PRIMARY KEY and UNIQUE constraints are kept.
+	 *
+	 * @param db the database
+	 * @param tableName the table owning the indexes
+	 * @return the SQL sentences to create again the dropped indexes
+	 * @see #createIndexes(SQLiteDatabase, List)
+	 */
+	public static List<String> dropIndexes(SQLiteDatabase db, String tableName){
+		if(ALiteOrmBuilder.getInstance().isShowSQL())
+			Log.d(ILogPrefix.SQL_LOG, ISqlString.INDEXES_SQL);
+		ArrayList<String> names = new ArrayList<String>();
+		ArrayList<String> sqls = new ArrayList<String>();
+		Cursor c = db.rawQuery(ISqlString.INDEXES_SQL, new String[] {tableName});
+		try{
+			while(c.moveToNext()){
+				names.add(c.getString(0));
+				sqls.add(c.getString(1));
+			}
+		}finally{
+			c.close();
+		}
+		for(int i = 0; i < names.size(); i++){
+			execute(db, String.format(ISqlString.DROP_INDEX_SQL, names.get(i)));
+		}
+		return sqls;
+	}
+
+	/**
+	 * Creates indexes.
+	 *
+	 * @param db the database
+	 * @param sqls the SQL sentences creating the indexes
+	 * @see #dropIndexes(SQLiteDatabase, String)
+	 */
+	public static void createIndexes(SQLiteDatabase db, List<String> sqls){
+		for(int i = 0; i < sqls.size(); i++){
+			execute(db, sqls.get(i));
+		}
+	}
+
+	/**
+	 * Starts a new savepoint within the current transaction.
+	 *
+	 * @param db the database
+	 * @param name the name of the savepoint
+	 */
+	public static void savepoint(SQLiteDatabase db, String name){
+		execute(db, String.format(ISqlString.SAVEPOINT_SQL, name));
+	}
+
+	/**
+	 * Releases a savepoint, keeping all the changes made since it has been started.
+	 *
+	 * @param db the database
+	 * @param name the name of the savepoint
+	 */
+	public static void releaseSavepoint(SQLiteDatabase db, String name){
+		execute(db, String.format(ISqlString.RELEASE_SAVEPOINT_SQL, name));
+	}
+
+	/**
+	 * Rolls back all the changes made since a savepoint has been started and releases it.
+	 * <p>
+	 * The enclosing transaction remains active.
+	 *
+	 * @param db the database
+	 * @param name the name of the savepoint
+	 */
+	public static void rollbackToSavepoint(SQLiteDatabase db, String name){
+		execute(db, String.format(ISqlString.ROLLBACK_TO_SAVEPOINT_SQL, name));
+		releaseSavepoint(db, name);
+	}
+
+	/**
+	 * Appends the "?" parameter replacing a value to a SQL sentence and adds the value to the arguments bound to the sentence
+	 * <p>
+	 * A <code>null</code> value cannot be bound, it's appended as "NULL".
+	 *
+	 * @param strb the SQL sentence
+	 * @param col the column compared to or receiving the value
+	 * @param value the value
+	 * @param args the arguments bound to the sentence
+	 */
+	public static void appendArgument(StringBuilder strb, IDBColumn col, Object value, List<String> args){
+		if(value == null){
+			strb.append("NULL");
+		}else{
+			strb.append("?");
+			args.add(col.getSqlDecorator().toArgument(value));
+		}
+	}
+
+	/**
+	 * Executes a single SQL sentence
+	 *
+	 * @param db the database
+	 * @param sql the SQL sentence
+	 */
+	private static void execute(SQLiteDatabase db, String sql){
+		if(ALiteOrmBuilder.getInstance().isShowSQL())
+			Log.d(ILogPrefix.SQL_LOG, sql);
+		db.execSQL(sql);
+	}
 }
\ No newline at end of file
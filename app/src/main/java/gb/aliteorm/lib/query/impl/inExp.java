@@ -17,6 +17,7 @@
 package gb.aliteorm.lib.query.impl;
 
 import java.util.Collection;
+import java.util.List;
 
 import gb.aliteorm.lib.core.Entity;
 import gb.aliteorm.lib.exception.RWrongPropertyNameException;
@@ -61,7 +62,7 @@ public class inExp implements Criterion{
 
 	
 	@Override
-	public String getSql(Entity e) {
+	public String getSql(Entity e, List<String> args) {
 		IDBColumn col = e.getTable().getColumn(pN);
 		if(col == null)
 			throw new RWrongPropertyNameException("attribute :" + pN + " not found for :" + e.getTable().getTableName());
@@ -72,7 +73,7 @@ public class inExp implements Criterion{
 		.append(col.getAttribute().getDBName())
 		.append(in ? " in (" : " not in (");
 		for(int i = 0; i < values.length; i++){
-			col.getSqlDecorator().decorate(s, values[i]);
+			SqlTools.appendArgument(s, col, values[i], args);
 			if(i + 1 < values.length)
 				s.append(",");
 		}
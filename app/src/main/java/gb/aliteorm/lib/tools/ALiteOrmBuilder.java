@@ -26,6 +26,7 @@ import java.util.List;
 
 import gb.aliteorm.lib.core.Entity;
 import gb.aliteorm.lib.core.EntityListener;
+import gb.aliteorm.lib.core.QueryCache;
 import gb.aliteorm.lib.core.TravelingEntity;
 
 /**
@@ -47,6 +48,10 @@ public class ALiteOrmBuilder {
 	private boolean showSQL = false;
 	private boolean showLog = false;
 	private int requiredVersionNumber = 1;
+	private int bulkCommitSize = 1000;
+	private int collectionBatchSize = 100;
+	private int sqlCacheSize = 0;
+	private QueryCache queryCache = new QueryCache(200, 10000);
 	private ArrayList<EntityListener> externalsCallbacks;
 
 	private ALiteOrmBuilder(){
@@ -122,6 +127,110 @@ public class ALiteOrmBuilder {
 		return showLog;
 	}
 
+	/**
+	 * Specifies the number of instances saved by a bulk process before committing its transaction.
+	 * <p>
+	 * The default size is 1000.
+	 *
+	 * @param bulkCommitSize the number of instances saved between two commits
+	 * @return the unique instance of the builder
+	 */
+	public ALiteOrmBuilder setBulkCommitSize(int bulkCommitSize) {
+		if(bulkCommitSize > 0)
+			this.bulkCommitSize = bulkCommitSize;
+		return this;
+	}
+
+	/**
+	 * Returns the number of instances saved by a bulk process before committing its transaction.
+	 * @return the number of instances saved between two commits
+	 */
+	public int getBulkCommitSize() {
+		return bulkCommitSize;
+	}
+
+	/**
+	 * Specifies the number of listed instances whose element collections are loaded by a single query.
+	 * <p>
+	 * The default size is 100.
+	 *
+	 * @param collectionBatchSize the number of instances whose collections are loaded together
+	 * @return the unique instance of the builder
+	 */
+	public ALiteOrmBuilder setCollectionBatchSize(int collectionBatchSize) {
+		if(collectionBatchSize > 0)
+			this.collectionBatchSize = collectionBatchSize;
+		return this;
+	}
+
+	/**
+	 * Returns the number of listed instances whose element collections are loaded by a single query.
+	 * @return the number of instances whose collections are loaded together
+	 */
+	public int getCollectionBatchSize() {
+		return collectionBatchSize;
+	}
+
+	/**
+	 * Specifies the number of compiled SQL statements kept by each database connection.
+	 * <p>
+	 * The criteria bind their values to "?" parameters, the queries differing only by their values share the
+	 * same SQL and the connection reuses the statement compiled for it as long as it remains in its cache.
+	 * The size can't exceed 100, the default size is the one of Android.
+	 *
+	 * @param sqlCacheSize the number of compiled statements kept by a connection
+	 * @return the unique instance of the builder
+	 */
+	public ALiteOrmBuilder setSqlCacheSize(int sqlCacheSize) {
+		if(sqlCacheSize > 0)
+			this.sqlCacheSize = Math.min(sqlCacheSize, 100);
+		return this;
+	}
+
+	/**
+	 * Returns the number of compiled SQL statements kept by each database connection.
+	 * @return the number of compiled statements, 0 if the default size of Android is used
+	 */
+	public int getSqlCacheSize() {
+		return sqlCacheSize;
+	}
+
+	/**
+	 * Specifies the maximum number of results kept by the query cache.
+	 * <p>
+	 * The default size is 200.
+	 *
+	 * @param queryCacheSize the maximum number of results kept by the query cache
+	 * @return the unique instance of the builder
+	 */
+	public ALiteOrmBuilder setQueryCacheSize(int queryCacheSize) {
+		if(queryCacheSize >= 0)
+			queryCache.setMaxEntries(queryCacheSize);
+		return this;
+	}
+
+	/**
+	 * Specifies the maximum number of rows kept by the query cache, for all its results.
+	 * <p>
+	 * The default number is 10000.
+	 *
+	 * @param queryCacheRows the maximum number of rows kept by the query cache
+	 * @return the unique instance of the builder
+	 */
+	public ALiteOrmBuilder setQueryCacheRows(int queryCacheRows) {
+		if(queryCacheRows >= 0)
+			queryCache.setMaxRows(queryCacheRows);
+		return this;
+	}
+
+	/**
+	 * Returns the cache shared by the sessions for the results of the cacheable criteria.
+	 * @return the query cache
+	 */
+	public QueryCache getQueryCache() {
+		return queryCache;
+	}
+
 	/**
 	 * Creates or updates the database schema and make it ready to use
 	 *
@@ -170,6 +279,30 @@ public class ALiteOrmBuilder {
 		}
 	}
 
+	/**
+	 * Releases the statements compiled for all the entities
+	 * <p>
+	 * Called before closing a database
+	 */
+	protected void releaseStatements(){
+		Enumeration<Entity> en = mEnts.elements();
+		while (en.hasMoreElements()) {
+			en.nextElement().releaseStatements();
+		}
+	}
+
+	/**
+	 * Closes the database shared by all the sessions.
+	 * <p>
+	 * The statements compiled for all the entities are released before closing the database,
+	 * this must be called when the application stops using the database and when no session is open anymore.
+	 */
+	public void close(){
+		releaseStatements();
+		if(dbHelper != null)
+			dbHelper.close();
+	}
+
 	/**
 	 * Create and/or open a read/write database
 	 * @return a read/write database object valid until close() is called
@@ -205,6 +338,20 @@ public class ALiteOrmBuilder {
 		return this;
 	}
 
+	/**
+	 * Indicates if one of the global entity listeners defines a callback method for a given entity life cycle's event
+	 * @param c the annotation class identifying the entity life cycle's event
+	 * @return <code>true</code> if a callback method is defined for the event
+	 */
+	public boolean hasCallBack(Class<?> c){
+		Iterator<EntityListener> it = externalsCallbacks.iterator();
+		while (it.hasNext()) {
+			if(it.next().hasCallBack(c))
+				return true;
+		}
+		return false;
+	}
+
 	/**
 	 * Invokes callback methods execution
 	 * @param c the annotation class identifying the entity life cycle's event executed
@@ -0,0 +1,250 @@
+/*
+ * Copyright (C) 2015 Guillaume Barré
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gb.aliteorm.lib.tools;
+
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+
+import java.util.Iterator;
+import java.util.List;
+
+import gb.aliteorm.lib.core.CompiledStatement;
+import gb.aliteorm.lib.core.Entity;
+import gb.aliteorm.lib.core.TravelingEntity;
+import gb.aliteorm.lib.exception.RNoEntityException;
+import gb.aliteorm.lib.exception.RWrongPropertyNameException;
+import gb.aliteorm.lib.impl.columns.IDBColumn;
+import gb.aliteorm.lib.query.impl.SqlTools;
+
+/**
+ * Streams a large number of new instances of an entity into its mapped table.
+ * <p>
+ * The instances, or raw rows of attribute values, are read one by one from an iterator and inserted
+ * without checking if they already exist, within transactions committed every <code>commitSize</code> rows.
+ * <p>
+ * Optionally the indexes of the table can be dropped before the import and created again once
+ * it's finished, which is faster than maintaining them for each inserted row.
+ * <p>
+ * Session is the factory for BulkImporter.
+ *
+ * @author Guillaume Barré
+ * @since 1.0
+ *
+ */
+public class BulkImporter {
+
+	private Session session;
+	private SQLiteDatabase db;
+	private Entity entity;
+	private int commitSize;
+	private boolean deferIndexes = false;
+
+	/**
+	 * Creates a new importer
+	 *
+	 * @param session the session which uses this importer
+	 * @param db the database where to import
+	 * @param entity the entity to import
+	 */
+	protected BulkImporter(Session session, SQLiteDatabase db, Entity entity){
+		this.session = session;
+		this.db = db;
+		this.entity = entity;
+		commitSize = ALiteOrmBuilder.getInstance().getBulkCommitSize();
+	}
+
+	/**
+	 * Specifies the number of rows imported between two commits
+	 * <p>
+	 * The commit size is ignored if a transaction has already been started on the session
+	 *
+	 * @param commitSize the number of rows, ignored if not greater than 0
+	 * @return the importer
+	 */
+	public BulkImporter setCommitSize(int commitSize){
+		if(commitSize > 0)
+			this.commitSize = commitSize;
+		return this;
+	}
+
+	/**
+	 * Specifies if the indexes of the table must be dropped during the import and created again once it's finished
+	 * <p>
+	 * The indexes created by PRIMARY KEY and UNIQUE constraints are always kept
+	 *
+	 * @param deferIndexes <code>true</code> to create the indexes after the import
+	 * @return the importer
+	 */
+	public BulkImporter setDeferIndexes(boolean deferIndexes){
+		this.deferIndexes = deferIndexes;
+		return this;
+	}
+
+	/**
+	 * Imports new instances of the entity
+	 * <p>
+	 * This operation cascades to associated instances and triggers the persist callbacks
+	 *
+	 * @param entities the instances to import
+	 * @return the number of imported instances
+	 * @throws RNoEntityException will be thrown if an instance is not an instance of the imported entity
+	 */
+	public int importEntities(Iterable<?> entities) throws RNoEntityException{
+		return importEntities(entities.iterator());
+	}
+
+	/**
+	 * Imports new instances of the entity
+	 * <p>
+	 * This operation cascades to associated instances and triggers the persist callbacks
+	 *
+	 * @param entities the instances to import
+	 * @return the number of imported instances
+	 * @throws RNoEntityException will be thrown if an instance is not an instance of the imported entity
+	 */
+	public int importEntities(Iterator<?> entities) throws RNoEntityException{
+		return run(entities, new IRowWriter() {
+			@Override
+			public void write(Object o) {
+				if(o.getClass() != entity.getImplementationClass())
+					throw new RNoEntityException("For : " + o.getClass().getName() + " while importing " + entity.getImplementationClass().getName());
+				entity.insert(session, db, new TravelingEntity(o));
+				// The imported instances are streamed, the session must not keep them
+				session.evict(o);
+			}
+		});
+	}
+
+	/**
+	 * Imports raw rows of attribute values, for example parsed from a file, using a single compiled insert
+	 * <p>
+	 * This operation won't cascade to associated instances and won't trigger callbacks
+	 *
+	 * @param attributes the names of the imported attributes
+	 * @param rows the rows, each one containing the values of the attributes in the same order
+	 * @return the number of imported rows
+	 * @throws RWrongPropertyNameException will be thrown if an attribute is not found for the entity
+	 */
+	public int importRows(String[] attributes, Iterable<Object[]> rows) throws RWrongPropertyNameException{
+		return importRows(attributes, rows.iterator());
+	}
+
+	/**
+	 * Imports raw rows of attribute values, for example parsed from a file, using a single compiled insert
+	 * <p>
+	 * This operation won't cascade to associated instances and won't trigger callbacks
+	 *
+	 * @param attributes the names of the imported attributes
+	 * @param rows the rows, each one containing the values of the attributes in the same order
+	 * @return the number of imported rows
+	 * @throws RWrongPropertyNameException will be thrown if an attribute is not found for the entity
+	 */
+	public int importRows(String[] attributes, Iterator<Object[]> rows) throws RWrongPropertyNameException{
+		final IDBColumn[] columns = new IDBColumn[attributes.length];
+		StringBuilder strb = new StringBuilder("INSERT INTO ")
+		.append(entity.getTable().getTableName())
+		.append(" (");
+		StringBuilder values = new StringBuilder(" VALUES (");
+		for(int i = 0; i < attributes.length; i++){
+			columns[i] = entity.getTable().getColumn(attributes[i]);
+			if(columns[i] == null)
+				throw new RWrongPropertyNameException("attribute :" + attributes[i] + " not found for :" + entity.getTable().getTableName());
+			strb.append(columns[i].getAttribute().getDBName());
+			values.append("?");
+			if(i + 1 < attributes.length){
+				strb.append(",");
+				values.append(",");
+			}
+		}
+		strb.append(")")
+		.append(values)
+		.append(")");
+
+		final CompiledStatement cs = new CompiledStatement(db, strb.toString());
+		try{
+			return run(rows, new IRowWriter() {
+				@Override
+				public void write(Object o) {
+					Object[] row = (Object[])o;
+					if(row.length != columns.length)
+						throw new RuntimeException("The row contains " + row.length + " values instead of " + columns.length);
+					SQLiteStatement st = cs.getStatement();
+					for(int i = 0; i < row.length; i++){
+						columns[i].bindValue(st, i + 1, row[i]);
+					}
+					cs.executeInsert();
+				}
+			});
+		}finally{
+			cs.release();
+			entity.invalidateQueries(session);
+		}
+	}
+
+	/**
+	 * Writes all the rows read from an iterator, managing the transactions and the indexes
+	 *
+	 * @param it the iterator
+	 * @param w the writer of each row
+	 * @return the number of written rows
+	 */
+	private int run(Iterator<?> it, IRowWriter w){
+		List<String> indexes = null;
+		if(deferIndexes)
+			indexes = SqlTools.dropIndexes(db, entity.getTable().getTableName());
+		int count = 0;
+		try{
+			boolean ownTransaction = !db.inTransaction();
+			if(ownTransaction)
+				db.beginTransaction();
+			try{
+				while (it.hasNext()) {
+					w.write(it.next());
+					count++;
+					if(ownTransaction && count % commitSize == 0){
+						db.setTransactionSuccessful();
+						db.endTransaction();
+						session.invalidateWrittenQueries();
+						db.beginTransaction();
+					}
+				}
+				if(ownTransaction)
+					db.setTransactionSuccessful();
+			}finally{
+				if(ownTransaction){
+					db.endTransaction();
+					session.invalidateWrittenQueries();
+				}
+			}
+		}finally{
+			if(indexes != null)
+				SqlTools.createIndexes(db, indexes);
+		}
+		return count;
+	}
+
+	/**
+	 * Writer of a single imported row
+	 */
+	private interface IRowWriter{
+
+		/**
+		 * Writes a row
+		 * @param o the row to write
+		 */
+		public void write(Object o);
+	}
+}
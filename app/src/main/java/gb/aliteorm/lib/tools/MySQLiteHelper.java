@@ -18,8 +18,11 @@ package gb.aliteorm.lib.tools;
 
 import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteOpenHelper;
+import android.os.Build;
 import android.util.Log;
 
+import gb.aliteorm.lib.query.impl.ISqlString;
+
 /**
  * Helper class to manage database creation and get open database.
  *
@@ -41,6 +44,31 @@ public class MySQLiteHelper extends SQLiteOpenHelper {
 		super(dbcontext.getAndroidContext(), dbcontext.getDBPath(), null, requiredDbVersion);
 	}
 
+	@Override
+	public void onConfigure(SQLiteDatabase db) {
+		super.onConfigure(db);
+		// Foreign keys are disabled by default and must be enabled on each connection,
+		// they are required to cascade the deletes to the element collections.
+		// onConfigure is only called from JELLY_BEAN, the older versions fall back on the pragma into onOpen
+		if(!db.isReadOnly()){
+			if(ALiteOrmBuilder.getInstance().isShowLog())
+				Log.d(ILogPrefix.ACTIVITY_LOG, "MySQLiteHelper: Foreign key constraints enabled : " + db.getPath());
+			db.setForeignKeyConstraintsEnabled(true);
+		}
+	}
+
+	@Override
+	public void onOpen(SQLiteDatabase db) {
+		super.onOpen(db);
+		if(ALiteOrmBuilder.getInstance().getSqlCacheSize() > 0)
+			db.setMaxSqlCacheSize(ALiteOrmBuilder.getInstance().getSqlCacheSize());
+		if(Build.VERSION.SDK_INT < Build.VERSION_CODES.JELLY_BEAN && !db.isReadOnly()){
+			if(ALiteOrmBuilder.getInstance().isShowSQL())
+				Log.d(ILogPrefix.SQL_LOG, ISqlString.FOREIGN_KEYS_ON_SQL);
+			db.execSQL(ISqlString.FOREIGN_KEYS_ON_SQL);
+		}
+	}
+
 	@Override
 	public void onCreate(SQLiteDatabase db) {
 		if(ALiteOrmBuilder.getInstance().isShowLog())
@@ -19,18 +19,29 @@ package gb.aliteorm.lib.tools;
 import android.database.sqlite.SQLiteDatabase;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Hashtable;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
+import gb.aliteorm.lib.annotation.SaveMode;
 import gb.aliteorm.lib.core.Entity;
 import gb.aliteorm.lib.core.EntityListener;
+import gb.aliteorm.lib.core.ILazyCollection;
 import gb.aliteorm.lib.core.TravelingEntity;
 import gb.aliteorm.lib.exception.BulkProcessException;
+import gb.aliteorm.lib.exception.RLazyInitializationException;
 import gb.aliteorm.lib.exception.RNoEntityException;
 import gb.aliteorm.lib.exception.RNoResultException;
 import gb.aliteorm.lib.exception.RNonUniqueResultException;
 import gb.aliteorm.lib.query.impl.Criteria;
+import gb.aliteorm.lib.query.impl.SqlTools;
 
 /**
  *
@@ -44,18 +55,37 @@ import gb.aliteorm.lib.query.impl.Criteria;
  */
 public class Session {
 
+	private static final String BULK_SAVEPOINT = "alite_bulk";
+
 	private Transaction tr = null;
 	private SQLiteDatabase  db;
 	private ArrayList<EntityListener> externalsCallbacks;
+	private IdentityHashMap<Object, Object[]> snapshots;
+	private IdentityHashMap<Object, Object[]> pendingSnapshots;
+	private IdentityHashMap<Object, Hashtable<String, ArrayList<List<Object>>>> collectionSnapshots;
+	private IdentityHashMap<Object, Hashtable<String, ArrayList<List<Object>>>> pendingCollectionSnapshots;
+	private HashMap<List<Object>, Object> identities;
+	private IdentityHashMap<Object, List<Object>> identityKeys;
+	private IdentityHashMap<Object, List<Object>> pendingIdentities;
+	private HashSet<Entity> writtenEntities;
+	private boolean open = true;
 
 	/**
 	 * Creates a new session.
 	 * <P>
-	 * A freshly open database ( see getWritableDatabase() ) will be associated with each session.
+	 * The open database ( see getWritableDatabase() ) will be associated with each session.
 	 */
 	public Session(){
 		db = ALiteOrmBuilder.getInstance().openWritableDatabase();
 		externalsCallbacks = new ArrayList<EntityListener>();
+		snapshots = new IdentityHashMap<Object, Object[]>();
+		pendingSnapshots = new IdentityHashMap<Object, Object[]>();
+		collectionSnapshots = new IdentityHashMap<Object, Hashtable<String, ArrayList<List<Object>>>>();
+		pendingCollectionSnapshots = new IdentityHashMap<Object, Hashtable<String, ArrayList<List<Object>>>>();
+		identities = new HashMap<List<Object>, Object>();
+		identityKeys = new IdentityHashMap<Object, List<Object>>();
+		pendingIdentities = new IdentityHashMap<Object, List<Object>>();
+		writtenEntities = new HashSet<Entity>();
 	}
 
 	/**
@@ -64,7 +94,7 @@ public class Session {
 	 * @return the new transaction
 	 */
 	public Transaction startTransaction(){
-		tr = new Transaction(db);
+		tr = new Transaction(this);
 		return tr;
 	}
 
@@ -102,18 +132,26 @@ public class Session {
 	/**
 	 * Closes the session.
 	 * <P>
-	 * Closing the session will also close the open database associated with the session and all uncommitted changes will be lost.
+	 * All uncommitted changes will be lost.
+	 * <P>
+	 * The database associated with the session is shared with the other sessions and remains open
+	 * with the statements compiled on it, it will be closed by <code>ALiteOrmBuilder.close()</code>.
 	 */
 	public void close(){
 		if(tr != null && tr.inTransaction()){
 			tr.rollback();
 		}
-		try{
-			if(db != null)
-				db.close();
-		}catch(Exception e){
-			e.printStackTrace();
-		}
+		open = false;
+		clear();
+	}
+
+	/**
+	 * Indicates if the session is still open
+	 *
+	 * @return <code>true</code> if the session has not been closed, otherwise <code>false</code>
+	 */
+	public boolean isOpen(){
+		return open;
 	}
 
 	/**
@@ -126,19 +164,11 @@ public class Session {
 	 * 
 	 * @param entities the entities to save
 	 * @throws BulkProcessException exceptions encountered while saving one or more entities
+	 * @throws RNoEntityException will be thrown, before saving anything, if one of the received objects is not an entity
+	 * @see #saveAll(Collection)
 	 */
-	public void save(Object... entities) throws BulkProcessException{
-		Hashtable<Object, Throwable> e = new Hashtable<Object, Throwable>();
-		for(Object o : entities){
-			try{
-				save(o);
-			}catch(Throwable t){
-				e.put(o,  t);
-			}
-		}
-		if(!e.isEmpty()){
-			throw new BulkProcessException(e);
-		}
+	public void save(Object... entities) throws BulkProcessException, RNoEntityException{
+		saveAll(Arrays.asList(entities));
 	}
 
 	/**
@@ -151,16 +181,123 @@ public class Session {
 	 * 
 	 * @param entities the entities to save
 	 * @throws BulkProcessException exceptions encountered while saving one or more entities
+	 * @throws RNoEntityException will be thrown, before saving anything, if one of the received objects is not an entity
+	 * @see #saveAll(Collection)
+	 */
+	public void save(List<Object> entities) throws BulkProcessException, RNoEntityException{
+		saveAll(entities);
+	}
+
+	/**
+	 * Saves a collection of entities into the database within a transaction committed
+	 * every <code>ALiteOrmBuilder.getBulkCommitSize()</code> instances.
+	 * <P>
+	 * If one or more entities cannot be saved the process will continue to try to save the others.
+	 *
+	 * <p>
+	 * This operation cascades to associated instances
+	 *
+	 * @param entities the entities to save
+	 * @throws BulkProcessException exceptions encountered while saving one or more entities
+	 * @throws RNoEntityException will be thrown, before saving anything, if one of the received objects is not an entity
+	 * @see #saveAll(Collection, int)
 	 */
-	public void save(List<Object> entities) throws BulkProcessException{
+	public void saveAll(Collection<?> entities) throws BulkProcessException, RNoEntityException{
+		saveAll(entities, ALiteOrmBuilder.getInstance().getBulkCommitSize());
+	}
+
+	/**
+	 * Saves a collection of entities into the database within a transaction committed
+	 * every <code>commitSize</code> instances.
+	 * <P>
+	 * The entities are grouped by class to be saved using the same compiled statements.
+	 * <p>
+	 * Each entity is saved using the save mode defined on its <code>@ALiteEntity</code>. Whatever the mode, the new auto incremental
+	 * entities are directly inserted and the ones loaded by this session are directly updated, without querying the database
+	 * to know if they exist.
+	 * <p>
+	 * Each entity is saved within its own savepoint, if it cannot be saved only its own changes
+	 * are rolled back, its auto incremental id being reset to 0, and the process will continue to try to save the others.
+	 * <p>
+	 * If a transaction has already been started on this session, the entities will be saved within it
+	 * and it won't be committed.
+	 *
+	 * <p>
+	 * This operation cascades to associated instances
+	 *
+	 * @param entities the entities to save
+	 * @param commitSize the number of entities saved between two commits
+	 * @throws BulkProcessException exceptions encountered while saving one or more entities
+	 * @throws RNoEntityException will be thrown, before saving anything, if one of the received objects is not an entity
+	 * @see #saveAll(Collection, int, SaveMode)
+	 */
+	public void saveAll(Collection<?> entities, int commitSize) throws BulkProcessException, RNoEntityException{
+		saveAll(entities, commitSize, null);
+	}
+
+	/**
+	 * Saves a collection of entities, committing every <code>commitSize</code> entities and using the given strategy
+	 * to choose between an insert and an update.
+	 *
+	 * @param entities the entities to save
+	 * @param commitSize the number of entities saved between two commits
+	 * @param mode the strategy used to save the entities, <code>null</code> to use the one defined on each entity
+	 * @throws BulkProcessException will be thrown if one or more entities cannot be saved
+	 * @throws RNoEntityException will be thrown, before saving anything, if one of the received objects is not an entity
+	 * @see #saveAll(Collection, int)
+	 */
+	public void saveAll(Collection<?> entities, int commitSize, SaveMode mode) throws BulkProcessException, RNoEntityException{
+		LinkedHashMap<Entity, ArrayList<Object>> groups = groupByEntity(entities);
 		Hashtable<Object, Throwable> e = new Hashtable<Object, Throwable>();
-		Iterator<Object> it = entities.iterator();
-		while (it.hasNext()) {
-			Object o = (Object) it.next();
-			try{
-				save(o);
-			}catch(Throwable t){
-				e.put(o,  t);
+
+		boolean ownTransaction = !db.inTransaction();
+		boolean committed = false;
+		if(ownTransaction)
+			db.beginTransaction();
+		try{
+			int pending = 0;
+			Iterator<Map.Entry<Entity, ArrayList<Object>>> itG = groups.entrySet().iterator();
+			while (itG.hasNext()) {
+				Map.Entry<Entity, ArrayList<Object>> group = itG.next();
+				Entity en = group.getKey();
+				Iterator<Object> it = group.getValue().iterator();
+				while (it.hasNext()) {
+					Object o = it.next();
+					TravelingEntity te = new TravelingEntity(o);
+					boolean withoutId = en.isWithoutGeneratedId(te);
+					SqlTools.savepoint(db, BULK_SAVEPOINT);
+					try{
+						en.save(this, db, te, mode);
+						SqlTools.releaseSavepoint(db, BULK_SAVEPOINT);
+					}catch(Throwable t){
+						SqlTools.rollbackToSavepoint(db, BULK_SAVEPOINT);
+						evict(o);
+						// The rolled back row id must not stay in the instance, it would be updated by the next save
+						if(withoutId)
+							en.resetGeneratedId(te);
+						e.put(o,  t);
+					}
+					if(ownTransaction && ++pending >= commitSize){
+						db.setTransactionSuccessful();
+						db.endTransaction();
+						commitSnapshots();
+						invalidateWrittenQueries();
+						db.beginTransaction();
+						pending = 0;
+					}
+				}
+			}
+			if(ownTransaction)
+				db.setTransactionSuccessful();
+			committed = true;
+		}finally{
+			if(ownTransaction){
+				db.endTransaction();
+				if(committed)
+					commitSnapshots();
+				else
+					rollbackSnapshots();
+				invalidateWrittenQueries();
 			}
 		}
 		if(!e.isEmpty()){
@@ -168,6 +305,33 @@ public class Session {
 		}
 	}
 
+	/**
+	 * Groups the given instances by entity, keeping the order in which the entities are found
+	 *
+	 * @param objs the instances to group
+	 * @return the instances grouped by entity
+	 * @throws RNoEntityException will be thrown if one of the received objects is not an entity
+	 */
+	private LinkedHashMap<Entity, ArrayList<Object>> groupByEntity(Collection<?> objs) throws RNoEntityException{
+		LinkedHashMap<Entity, ArrayList<Object>> groups = new LinkedHashMap<Entity, ArrayList<Object>>();
+		Iterator<?> it = objs.iterator();
+		while (it.hasNext()) {
+			Object o = it.next();
+			if(o == null)
+				continue;
+			Entity en = ALiteOrmBuilder.getInstance().getEntity(o.getClass());
+			if(en == null)
+				throw new RNoEntityException("For : " + o.getClass().getName());
+			ArrayList<Object> group = groups.get(en);
+			if(group == null){
+				group = new ArrayList<Object>();
+				groups.put(en, group);
+			}
+			group.add(o);
+		}
+		return groups;
+	}
+
 	/**
 	 * Saves a single entity.
 	 * 
@@ -184,6 +348,24 @@ public class Session {
 		en.save(this, db, new TravelingEntity(e));
 	}
 
+	/**
+	 * Saves a single entity using the given strategy to choose between an insert and an update.
+	 * 
+	 * <p>
+	 * This operation cascades to associated instances
+	 * 
+	 * @param e the entity to save
+	 * @param mode the strategy used to save the entity
+	 * @throws RNoEntityException will be thrown if the received object is not an entity
+	 * @see SaveMode
+	 */
+	public void save(Object e, SaveMode mode) throws RNoEntityException{
+		Entity en = ALiteOrmBuilder.getInstance().getEntity(e.getClass());
+		if(en == null)
+			throw new RNoEntityException("For : " + e.getClass().getName());
+		en.save(this, db, new TravelingEntity(e), mode);
+	}
+
 	/**
 	 * Remove a persistent instances from the database
 	 * <p>
@@ -193,40 +375,99 @@ public class Session {
 	 *
 	 * @param objs the instances to remove
 	 * @throws BulkProcessException exceptions encountered while removing one or more instances
+	 * @throws RNoEntityException will be thrown, before removing anything, if one of the received objects is not an entity
+	 * @see #delete(List)
 	 */
-	public void delete(Object... objs) throws BulkProcessException{
-		Hashtable<Object, Throwable> e = new Hashtable<Object, Throwable>();
-		for(Object o : objs){
-			try{
-				delete(o);
-			}catch(Throwable t){
-				e.put(o,  t);
-			}
-		}
-		if(!e.isEmpty()){
-			throw new BulkProcessException(e);
-		}
+	public void delete(Object... objs) throws BulkProcessException, RNoEntityException{
+		delete(Arrays.asList(objs));
 	}
 
 	/**
 	 * Remove a persistent instances from the database
 	 * <p>
+	 * The instances are grouped by class and each group is deleted by batches of ids within a single transaction,
+	 * the orphans are removed once for each group.
+	 * <p>
 	 * This operation cascades to associated instances
 	 * <p>
 	 * If one or more instances cannot be removed the process will continue to try to delete the others.
+	 * The <code>@ALitePreRemove</code> callbacks of each instance are called only once, before its group is deleted,
+	 * and its <code>@ALitePostRemove</code> callbacks once its row has been deleted. An instance whose <code>@ALitePostRemove</code>
+	 * callbacks fail remains deleted and is reported by the <code>BulkProcessException</code>.
+	 * <p>
+	 * If a transaction has already been started on this session, the instances will be deleted within it.
 	 *
 	 * @param objs the instances to remove
 	 * @throws BulkProcessException exceptions encountered while removing one or more instances
+	 * @throws RNoEntityException will be thrown, before removing anything, if one of the received objects is not an entity
 	 */
-	public void delete(List<Object> objs) throws BulkProcessException{
+	public void delete(List<Object> objs) throws BulkProcessException, RNoEntityException{
+		LinkedHashMap<Entity, ArrayList<Object>> groups = groupByEntity(objs);
 		Hashtable<Object, Throwable> e = new Hashtable<Object, Throwable>();
-		Iterator<Object> it = objs.iterator();
-		while (it.hasNext()) {
-			Object o = (Object) it.next();
-			try{
-				delete(o);
-			}catch(Throwable t){
-				e.put(o,  t);
+
+		boolean ownTransaction = !db.inTransaction();
+		if(ownTransaction)
+			db.beginTransaction();
+		try{
+			Iterator<Map.Entry<Entity, ArrayList<Object>>> itG = groups.entrySet().iterator();
+			while (itG.hasNext()) {
+				Map.Entry<Entity, ArrayList<Object>> group = itG.next();
+				Entity en = group.getKey();
+				// The pre remove callbacks are called once, an instance whose callbacks fail is not deleted
+				ArrayList<TravelingEntity> tes = new ArrayList<TravelingEntity>();
+				Iterator<Object> it = group.getValue().iterator();
+				while (it.hasNext()) {
+					Object o = it.next();
+					try{
+						TravelingEntity te = new TravelingEntity(o);
+						en.preRemove(this, te);
+						tes.add(te);
+					}catch(Throwable t){
+						e.put(o,  t);
+					}
+				}
+				if(tes.isEmpty())
+					continue;
+				ArrayList<TravelingEntity> deleted = new ArrayList<TravelingEntity>();
+				SqlTools.savepoint(db, BULK_SAVEPOINT);
+				try{
+					en.remove(this, db, tes);
+					SqlTools.releaseSavepoint(db, BULK_SAVEPOINT);
+					deleted.addAll(tes);
+				}catch(Throwable t){
+					SqlTools.rollbackToSavepoint(db, BULK_SAVEPOINT);
+					// The batch failed, the instances are deleted one by one to find the ones which cannot be deleted
+					Iterator<TravelingEntity> itT = tes.iterator();
+					while (itT.hasNext()) {
+						TravelingEntity te = itT.next();
+						SqlTools.savepoint(db, BULK_SAVEPOINT);
+						try{
+							en.remove(this, db, te);
+							SqlTools.releaseSavepoint(db, BULK_SAVEPOINT);
+							deleted.add(te);
+						}catch(Throwable t2){
+							SqlTools.rollbackToSavepoint(db, BULK_SAVEPOINT);
+							e.put(te.getContent(),  t2);
+						}
+					}
+				}
+				// The post remove callbacks are called outside of the savepoints, a failing callback doesn't restore its row
+				Iterator<TravelingEntity> itD = deleted.iterator();
+				while (itD.hasNext()) {
+					TravelingEntity te = itD.next();
+					try{
+						en.postRemove(this, te);
+					}catch(Throwable t){
+						e.put(te.getContent(),  t);
+					}
+				}
+			}
+			if(ownTransaction)
+				db.setTransactionSuccessful();
+		}finally{
+			if(ownTransaction){
+				db.endTransaction();
+				invalidateWrittenQueries();
 			}
 		}
 		if(!e.isEmpty()){
@@ -265,6 +506,55 @@ public class Session {
 		if(e == null)
 			throw new RNoEntityException("For : " + c.getName());
 		e .deleteAll(db);
+		addWrittenEntity(e);
+		evictAll(e.getImplementationClass());
+	}
+
+	/**
+	 * Remove the instances corresponding to the given ids from the database
+	 * <p>
+	 * The instances are deleted by batches of ids within a single transaction, without being loaded.
+	 * <p>
+	 * This operation cascades to associated instances, it won't trigger callbacks
+	 *
+	 * @param c the class identifying the table where to delete the rows
+	 * @param ids the values of the ids, or the instances of the <code>@ALiteEmbeddedId</code>, of the instances to remove
+	 * @throws RNoEntityException will be thrown if the received class is not a valid class
+	 */
+	public void deleteAll(Class<?> c, Collection<?> ids) throws RNoEntityException{
+		Entity e = ALiteOrmBuilder.getInstance().getEntity(c);
+		if(e == null)
+			throw new RNoEntityException("For : " + c.getName());
+		boolean ownTransaction = !db.inTransaction();
+		if(ownTransaction)
+			db.beginTransaction();
+		try{
+			e.deleteAll(db, ids);
+			addWrittenEntity(e);
+			evictAll(e.getImplementationClass());
+			if(ownTransaction)
+				db.setTransactionSuccessful();
+		}finally{
+			if(ownTransaction){
+				db.endTransaction();
+				invalidateWrittenQueries();
+			}
+		}
+	}
+
+	/**
+	 * Creates a new importer to stream a large number of new instances of the received class into the database.
+	 *
+	 * @param c the class of the instances to import
+	 * @return the importer
+	 * @throws RNoEntityException will be thrown if the received class is not a valid class
+	 * @see BulkImporter
+	 */
+	public BulkImporter createBulkImporter(Class<?> c) throws RNoEntityException{
+		Entity e = ALiteOrmBuilder.getInstance().getEntity(c);
+		if(e == null)
+			throw new RNoEntityException("For : " + c.getName());
+		return new BulkImporter(this, db, e);
 	}
 
 	/**
@@ -326,6 +616,29 @@ public class Session {
 		return e.loadDeep(this, new TravelingEntity(instance), db);
 	}
 	
+	/**
+	 * Loads the lazy collections of an entity which have not been loaded yet
+	 *
+	 * <p>
+	 * The received instance can also be a single lazy collection.
+	 * <p>
+	 * A lazy collection can only be loaded while the session which loaded its entity is open.
+	 *
+	 * @param instance the entity or the lazy collection to load
+	 * @throws RNoEntityException will be thrown if the received object is not an entity
+	 * @throws RLazyInitializationException will be thrown if the session which loaded a collection has been closed
+	 */
+	public void initialize(Object instance) throws RNoEntityException, RLazyInitializationException{
+		if(instance instanceof ILazyCollection){
+			((ILazyCollection)instance).initialize();
+			return;
+		}
+		Entity e = ALiteOrmBuilder.getInstance().getEntity(instance.getClass());
+		if(e == null)
+			throw new RNoEntityException("For : " + instance.getClass());
+		e.initialize(new TravelingEntity(instance));
+	}
+
 	/**
 	 * Loads a single entity
 	 * 
@@ -383,6 +696,20 @@ public class Session {
 		return this;
 	}
 
+	/**
+	 * Indicates if one of the entity listeners of the session defines a callback method for a given entity life cycle's event
+	 * @param c the annotation class identifying the entity life cycle's event
+	 * @return <code>true</code> if a callback method is defined for the event
+	 */
+	public boolean hasCallBack(Class<?> c){
+		Iterator<EntityListener> it = externalsCallbacks.iterator();
+		while (it.hasNext()) {
+			if(it.next().hasCallBack(c))
+				return true;
+		}
+		return false;
+	}
+
 	/**
 	 * Invokes callback methods execution
 	 * @param c the annotation class identifying the entity life cycle's event executed
@@ -396,6 +723,242 @@ public class Session {
 		}
 	}
 
+	/**
+	 * Returns the values of the updatable columns of an instance when it has been loaded by this session
+	 * <p>
+	 * The snapshot is used to update only the columns changed since the load.
+	 *
+	 * @param o the instance
+	 * @return the snapshot, <code>null</code> if the instance has not been loaded by this session
+	 */
+	public Object[] getSnapshot(Object o){
+		Object[] snapshot = pendingSnapshots.get(o);
+		return snapshot != null ? snapshot : snapshots.get(o);
+	}
+
+	/**
+	 * Keeps the values of the updatable columns of an instance loaded or updated by this session
+	 * <p>
+	 * Within a transaction the snapshot is kept apart until the transaction is committed, if it's rolled back
+	 * the previous snapshot of the instance will be used again.
+	 *
+	 * @param o the instance
+	 * @param snapshot the values of the updatable columns
+	 */
+	public void putSnapshot(Object o, Object[] snapshot){
+		if(db.inTransaction())
+			pendingSnapshots.put(o, snapshot);
+		else
+			snapshots.put(o, snapshot);
+	}
+
+	/**
+	 * Keeps the snapshots and the identities taken within the transaction which has just been committed
+	 */
+	protected void commitSnapshots(){
+		snapshots.putAll(pendingSnapshots);
+		pendingSnapshots.clear();
+		pendingIdentities.clear();
+		Iterator<Map.Entry<Object, Hashtable<String, ArrayList<List<Object>>>>> it = pendingCollectionSnapshots.entrySet().iterator();
+		while (it.hasNext()) {
+			Map.Entry<Object, Hashtable<String, ArrayList<List<Object>>>> entry = it.next();
+			Hashtable<String, ArrayList<List<Object>>> c = collectionSnapshots.get(entry.getKey());
+			if(c == null)
+				collectionSnapshots.put(entry.getKey(), entry.getValue());
+			else
+				c.putAll(entry.getValue());
+		}
+		pendingCollectionSnapshots.clear();
+	}
+
+	/**
+	 * Forgets the snapshots taken within the transaction which has just been rolled back, they don't match the database anymore
+	 * <p>
+	 * The instances which have been added to the identity map within the transaction are evicted, their rows could have been
+	 * rolled back and their ids reused by other rows.
+	 */
+	protected void rollbackSnapshots(){
+		pendingSnapshots.clear();
+		pendingCollectionSnapshots.clear();
+		IdentityHashMap<Object, List<Object>> rolledBack = pendingIdentities;
+		pendingIdentities = new IdentityHashMap<Object, List<Object>>();
+		Iterator<Map.Entry<Object, List<Object>>> it = rolledBack.entrySet().iterator();
+		while (it.hasNext()) {
+			Map.Entry<Object, List<Object>> entry = it.next();
+			if(entry.getValue().equals(identityKeys.get(entry.getKey())))
+				evict(entry.getKey());
+		}
+	}
+
+	/**
+	 * Keeps an entity whose table is written within the current transaction
+	 *
+	 * @param e the written entity
+	 * @see #invalidateWrittenQueries()
+	 */
+	public void addWrittenEntity(Entity e){
+		if(db.inTransaction())
+			writtenEntities.add(e);
+	}
+
+	/**
+	 * Invalidates again the results of the cacheable criteria and the cached instances of the tables written
+	 * within the transaction which has just ended.
+	 * <p>
+	 * The results and the instances are invalidated when the tables are written but, until the commit, the loads
+	 * of the other connections still read and cache the previous rows. Nothing is done before the outermost
+	 * transaction ends.
+	 */
+	protected void invalidateWrittenQueries(){
+		if(db.inTransaction())
+			return;
+		Iterator<Entity> it = writtenEntities.iterator();
+		while (it.hasNext()) {
+			Entity e = it.next();
+			e.invalidateQueries();
+			if(e.getCache() != null)
+				e.getCache().clear();
+		}
+		writtenEntities.clear();
+	}
+
+	/**
+	 * Returns the content of an element collection of an instance when it has been loaded by this session
+	 *
+	 * @param o the instance
+	 * @param collection the name of the table holding the collection
+	 * @return the values of each element of the collection, <code>null</code> if the collection has not been loaded by this session
+	 */
+	public ArrayList<List<Object>> getCollectionSnapshot(Object o, String collection){
+		Hashtable<String, ArrayList<List<Object>>> c = pendingCollectionSnapshots.get(o);
+		if(c != null && c.containsKey(collection))
+			return c.get(collection);
+		c = collectionSnapshots.get(o);
+		return c == null ? null : c.get(collection);
+	}
+
+	/**
+	 * Keeps the content of an element collection of an instance loaded or saved by this session
+	 * <p>
+	 * Within a transaction the snapshot is kept apart until the transaction is committed, if it's rolled back
+	 * the previous snapshot of the collection will be used again.
+	 *
+	 * @param o the instance
+	 * @param collection the name of the table holding the collection
+	 * @param snapshot the values of each element of the collection
+	 */
+	public void putCollectionSnapshot(Object o, String collection, ArrayList<List<Object>> snapshot){
+		IdentityHashMap<Object, Hashtable<String, ArrayList<List<Object>>>> target = db.inTransaction() ? pendingCollectionSnapshots : collectionSnapshots;
+		Hashtable<String, ArrayList<List<Object>>> c = target.get(o);
+		if(c == null){
+			c = new Hashtable<String, ArrayList<List<Object>>>();
+			target.put(o, c);
+		}
+		c.put(collection, snapshot);
+	}
+
+	/**
+	 * Forgets the snapshots of an instance and of its element collections, its next update will write all its columns
+	 * and all its collections
+	 *
+	 * @param o the instance
+	 */
+	public void removeSnapshot(Object o){
+		snapshots.remove(o);
+		pendingSnapshots.remove(o);
+		collectionSnapshots.remove(o);
+		pendingCollectionSnapshots.remove(o);
+	}
+
+	/**
+	 * Returns the instance loaded or saved by this session for an id
+	 *
+	 * @param key the class of the entity followed by the values of the id columns
+	 * @return the instance, <code>null</code> if no instance is known by this session for the id
+	 */
+	public Object getIdentity(List<Object> key){
+		return identities.get(key);
+	}
+
+	/**
+	 * Keeps an instance loaded or saved by this session, it will be returned by the next loads of its id
+	 * <p>
+	 * Within a transaction the instance is evicted if the transaction is rolled back, unless it was already known
+	 * by this session under the same id.
+	 *
+	 * @param key the class of the entity followed by the values of the id columns
+	 * @param o the instance
+	 */
+	public void putIdentity(List<Object> key, Object o){
+		List<Object> previousKey = identityKeys.put(o, key);
+		if(db.inTransaction() && !key.equals(previousKey))
+			pendingIdentities.put(o, key);
+		if(previousKey != null && !previousKey.equals(key))
+			identities.remove(previousKey);
+		Object previous = identities.put(key, o);
+		if(previous != null && previous != o)
+			identityKeys.remove(previous);
+	}
+
+	/**
+	 * Indicates if an instance is known by this session
+	 *
+	 * @param o the instance
+	 * @return <code>true</code> if the instance has been loaded or saved by this session and not evicted, otherwise <code>false</code>
+	 */
+	public boolean contains(Object o){
+		return identityKeys.containsKey(o);
+	}
+
+	/**
+	 * Removes an instance from this session
+	 * <p>
+	 * The next load of its id will query the database again and its next update will write all its columns
+	 * and all its collections.
+	 *
+	 * @param o the instance
+	 */
+	public void evict(Object o){
+		List<Object> key = identityKeys.remove(o);
+		if(key != null)
+			identities.remove(key);
+		pendingIdentities.remove(o);
+		removeSnapshot(o);
+	}
+
+	/**
+	 * Removes from this session all the instances of an entity
+	 *
+	 * @param c the class identifying the entity
+	 */
+	public void evictAll(Class<?> c){
+		Iterator<Map.Entry<Object, List<Object>>> it = identityKeys.entrySet().iterator();
+		while (it.hasNext()) {
+			Map.Entry<Object, List<Object>> entry = it.next();
+			if(entry.getValue().get(0) == c){
+				identities.remove(entry.getValue());
+				pendingIdentities.remove(entry.getKey());
+				removeSnapshot(entry.getKey());
+				it.remove();
+			}
+		}
+	}
+
+	/**
+	 * Removes all the instances from this session
+	 * <p>
+	 * The next loads will query the database again and return new instances.
+	 */
+	public void clear(){
+		identities.clear();
+		identityKeys.clear();
+		pendingIdentities.clear();
+		snapshots.clear();
+		pendingSnapshots.clear();
+		collectionSnapshots.clear();
+		pendingCollectionSnapshots.clear();
+	}
+
 	// TODO DELETE JUST FOR TESTING PURPOSE
 	public Object getTarget(Class<?> clazz, String property, Object o){
 		Entity e = ALiteOrmBuilder.getInstance().getEntity(clazz);
@@ -32,13 +32,15 @@ import gb.aliteorm.lib.exception.RRollbackException;
 public class Transaction {
 
 	private SQLiteDatabase  db;
+	private Session session;
 
 	/**
-	 * Creates a new transaction on the given database
-	 * @param db the database
+	 * Creates a new transaction on the database of the given session
+	 * @param session the session
 	 */
-	protected Transaction(SQLiteDatabase  db){
-		this.db = db;
+	protected Transaction(Session session){
+		this.session = session;
+		this.db = session.getDatabase();
 	}
 
 	/**
@@ -50,20 +52,33 @@ public class Transaction {
 
 	/**
 	 * Marks the current transaction as successful and ends the transaction.
+	 * <p>
+	 * Once the outermost transaction committed, the snapshots of the instances updated within it are kept by the session
+	 * and the cached results of the criteria reading the written tables are invalidated.
 	 */
 	public void commit(){
 		db.setTransactionSuccessful();
 		db.endTransaction();
+		if(!db.inTransaction()){
+			session.commitSnapshots();
+			session.invalidateWrittenQueries();
+		}
 	}
 
 	/**
 	 * End the transaction.
+	 * <p>
+	 * The snapshots of the instances updated within the transaction are forgotten by the session and the instances
+	 * it has loaded or saved for the first time within the transaction are evicted from it.
 	 */
 	public void rollback(){
 		try{
 			db.endTransaction();
 		}catch(Exception e){
 			throw new RRollbackException(e);
+		}finally{
+			session.rollbackSnapshots();
+			session.invalidateWrittenQueries();
 		}
 	}
 
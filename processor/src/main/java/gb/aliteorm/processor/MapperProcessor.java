@@ -0,0 +1,340 @@
+/*
+ * Copyright (C) 2015 Guillaume Barré
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gb.aliteorm.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+/**
+ * Annotation processor generating an <code>EntityMapper</code> for each class annotated with
+ * <code>@ALiteEntity</code>, <code>@ALiteEmbeddable</code> or <code>@ALiteMappedSuperclass</code>.
+ * <p>
+ * The generated mapper creates the instances and accesses their properties with plain java calls,
+ * ALiteOrm uses it instead of the reflection when it's found at runtime. The properties are the POJO
+ * style getters declared by the class with their matching setters, the getters without setter and the
+ * getters and the setters which are private are left to the reflection.
+ * <p>
+ * No mapper is generated for a class which cannot be referenced from its package, a private class or a local one,
+ * ALiteOrm then uses the reflection for all its instances.
+ *
+ * @author Guillaume Barré
+ * @since 1.0
+ *
+ */
+public class MapperProcessor extends AbstractProcessor {
+
+	private static final String ANNOTATION_PACKAGE = "gb.aliteorm.lib.annotation.";
+	private static final String MAPPER_INTERFACE = "gb.aliteorm.lib.mapper.EntityMapper";
+	private static final String MAPPER_SUFFIX = "_ALiteMapper";
+
+	private HashSet<String> generated = new HashSet<String>();
+
+	@Override
+	public Set<String> getSupportedAnnotationTypes() {
+		HashSet<String> result = new HashSet<String>();
+		result.add(ANNOTATION_PACKAGE + "ALiteEntity");
+		result.add(ANNOTATION_PACKAGE + "ALiteEmbeddable");
+		result.add(ANNOTATION_PACKAGE + "ALiteMappedSuperclass");
+		return result;
+	}
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		Iterator<? extends TypeElement> it = annotations.iterator();
+		while (it.hasNext()) {
+			Iterator<? extends Element> itE = roundEnv.getElementsAnnotatedWith(it.next()).iterator();
+			while (itE.hasNext()) {
+				Element e = itE.next();
+				if(e.getKind() == ElementKind.CLASS){
+					TypeElement type = (TypeElement)e;
+					if(generated.add(type.getQualifiedName().toString()) && isAccessible(type))
+						generate(type);
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Generates the mapper of a class
+	 * @param type the mapped class
+	 */
+	private void generate(TypeElement type){
+		String packageName = getPackage(type).getQualifiedName().toString();
+		String mapperName = getFlatName(type) + MAPPER_SUFFIX;
+		String typeName = type.getQualifiedName().toString();
+		List<Property> properties = getProperties(type);
+
+		StringBuilder strb = new StringBuilder();
+		if(packageName.length() > 0)
+			strb.append("package ").append(packageName).append(";\n\n");
+		strb.append("/**\n")
+		.append(" * Mapper of {@link ").append(typeName).append("} generated by ALiteOrm.\n")
+		.append(" */\n")
+		.append("public final class ").append(mapperName).append(" implements ").append(MAPPER_INTERFACE).append(" {\n\n");
+
+		strb.append("\t@Override\n")
+		.append("\tpublic Object newInstance(){\n");
+		if(isInstantiable(type))
+			strb.append("\t\treturn new ").append(typeName).append("();\n");
+		else
+			strb.append("\t\treturn null;\n");
+		strb.append("\t}\n\n");
+
+		strb.append("\t@Override\n")
+		.append("\tpublic int indexOf(String property){\n");
+		for(int i = 0; i < properties.size(); i++){
+			strb.append("\t\tif(\"").append(properties.get(i).name).append("\".equals(property))\n")
+			.append("\t\t\treturn ").append(i).append(";\n");
+		}
+		strb.append("\t\treturn -1;\n")
+		.append("\t}\n\n");
+
+		strb.append("\t@Override\n")
+		.append("\tpublic Object get(Object target, int property){\n")
+		.append("\t\t").append(typeName).append(" o = (").append(typeName).append(")target;\n")
+		.append("\t\tswitch(property){\n");
+		for(int i = 0; i < properties.size(); i++){
+			strb.append("\t\tcase ").append(i).append(":\n")
+			.append("\t\t\treturn o.").append(properties.get(i).getter).append("();\n");
+		}
+		strb.append("\t\tdefault:\n")
+		.append("\t\t\tthrow new IllegalArgumentException(\"Unknown property : \" + property);\n")
+		.append("\t\t}\n")
+		.append("\t}\n\n");
+
+		strb.append("\t@Override\n")
+		.append("\t@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n")
+		.append("\tpublic void set(Object target, int property, Object value){\n")
+		.append("\t\t").append(typeName).append(" o = (").append(typeName).append(")target;\n")
+		.append("\t\tswitch(property){\n");
+		for(int i = 0; i < properties.size(); i++){
+			Property p = properties.get(i);
+			strb.append("\t\tcase ").append(i).append(":\n")
+			.append("\t\t\to.").append(p.setter).append("(").append(getCastedValue(p.type)).append(");\n")
+			.append("\t\t\treturn;\n");
+		}
+		strb.append("\t\tdefault:\n")
+		.append("\t\t\tthrow new IllegalArgumentException(\"Unknown property : \" + property);\n")
+		.append("\t\t}\n")
+		.append("\t}\n")
+		.append("}\n");
+
+		String fileName = packageName.length() > 0 ? packageName + "." + mapperName : mapperName;
+		try {
+			JavaFileObject file = processingEnv.getFiler().createSourceFile(fileName, type);
+			Writer w = file.openWriter();
+			try{
+				w.write(strb.toString());
+			}finally{
+				w.close();
+			}
+		} catch (IOException e) {
+			processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Cannot generate the mapper " + fileName + " : " + e.getMessage(), type);
+		}
+	}
+
+	/**
+	 * Returns the properties of a class, defined by the POJO style getters declared by the class
+	 * <p>
+	 * A getter without matching setter is left out, its property will be accessed using the reflection.
+	 * @param type the class
+	 * @return the properties
+	 */
+	private List<Property> getProperties(TypeElement type){
+		ArrayList<Property> result = new ArrayList<Property>();
+		List<ExecutableElement> methods = ElementFilter.methodsIn(type.getEnclosedElements());
+		for (int i = 0; i < methods.size(); i++) {
+			ExecutableElement m = methods.get(i);
+			Set<Modifier> modifiers = m.getModifiers();
+			if(modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.PRIVATE))
+				continue;
+			if(!m.getParameters().isEmpty() || m.getReturnType().getKind() == TypeKind.VOID)
+				continue;
+			String n = m.getSimpleName().toString();
+			String suffix;
+			if(n.startsWith("get") && n.length() > 3 && !"getClass".equals(n)){
+				suffix = n.substring(3);
+			}else if(n.startsWith("is") && n.length() > 2){
+				suffix = n.substring(2);
+			}else{
+				continue;
+			}
+			Property p = new Property();
+			p.name = suffix.substring(0, 1).toLowerCase() + suffix.substring(1);
+			p.getter = n;
+			p.type = m.getReturnType();
+			p.setter = getSetter(type, "set" + suffix, p.type);
+			if(p.setter != null)
+				result.add(p);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the name of the setter accepting the given type, declared or inherited by the class
+	 * @param type the class
+	 * @param name the name of the setter
+	 * @param t the type of the property
+	 * @return the name of the setter, <code>null</code> if there is no accessible setter
+	 */
+	private String getSetter(TypeElement type, String name, TypeMirror t){
+		List<ExecutableElement> methods = ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type));
+		for (int i = 0; i < methods.size(); i++) {
+			ExecutableElement m = methods.get(i);
+			if(!m.getSimpleName().contentEquals(name) || m.getParameters().size() != 1)
+				continue;
+			Set<Modifier> modifiers = m.getModifiers();
+			if(modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.PRIVATE))
+				continue;
+			if(m.getEnclosingElement() != type && !modifiers.contains(Modifier.PUBLIC))
+				continue;
+			if(processingEnv.getTypeUtils().isSameType(m.getParameters().get(0).asType(), t))
+				return name;
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the expression casting the received value to the type of a property
+	 * @param t the type of the property
+	 * @return the expression
+	 */
+	private String getCastedValue(TypeMirror t){
+		switch(t.getKind()){
+		case INT:
+			return "((Integer)value).intValue()";
+		case LONG:
+			return "((Long)value).longValue()";
+		case DOUBLE:
+			return "((Double)value).doubleValue()";
+		case FLOAT:
+			return "((Float)value).floatValue()";
+		case SHORT:
+			return "((Short)value).shortValue()";
+		case CHAR:
+			return "((Character)value).charValue()";
+		case BOOLEAN:
+			return "((Boolean)value).booleanValue()";
+		case BYTE:
+			return "((Byte)value).byteValue()";
+		default:
+			return "(" + processingEnv.getTypeUtils().erasure(t).toString() + ")value";
+		}
+	}
+
+	/**
+	 * Indicates if the class can be referenced by a mapper generated into its package
+	 * <p>
+	 * No mapper is generated for a private class, or a class enclosed into a private one, nor for a local or anonymous class,
+	 * such a class is left to the reflection.
+	 * @param type the class
+	 * @return <code>true</code> if the class can be referenced by its mapper, otherwise <code>false</code>
+	 */
+	private boolean isAccessible(TypeElement type){
+		Element e = type;
+		while(e instanceof TypeElement){
+			NestingKind kind = ((TypeElement)e).getNestingKind();
+			if(kind == NestingKind.LOCAL || kind == NestingKind.ANONYMOUS || e.getModifiers().contains(Modifier.PRIVATE))
+				return false;
+			e = e.getEnclosingElement();
+		}
+		return true;
+	}
+
+	/**
+	 * Indicates if the generated mapper can instantiate the class using its constructor without parameter
+	 * @param type the class
+	 * @return <code>true</code> if the class can be instantiated, otherwise <code>false</code>
+	 */
+	private boolean isInstantiable(TypeElement type){
+		if(type.getModifiers().contains(Modifier.ABSTRACT))
+			return false;
+		Element e = type;
+		while(e.getKind() == ElementKind.CLASS && ((TypeElement)e).getNestingKind() == NestingKind.MEMBER){
+			if(!e.getModifiers().contains(Modifier.STATIC) || e.getModifiers().contains(Modifier.PRIVATE))
+				return false;
+			e = e.getEnclosingElement();
+		}
+		if(e.getKind() == ElementKind.CLASS && ((TypeElement)e).getNestingKind() != NestingKind.TOP_LEVEL)
+			return false;
+		List<ExecutableElement> constructors = ElementFilter.constructorsIn(type.getEnclosedElements());
+		for (int i = 0; i < constructors.size(); i++) {
+			ExecutableElement c = constructors.get(i);
+			if(c.getParameters().isEmpty() && !c.getModifiers().contains(Modifier.PRIVATE))
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the package declaring a class
+	 * @param type the class
+	 * @return the package
+	 */
+	private PackageElement getPackage(TypeElement type){
+		return processingEnv.getElementUtils().getPackageOf(type);
+	}
+
+	/**
+	 * Returns the name of a class without its package, the names of the enclosing classes being joined with "_"
+	 * @param type the class
+	 * @return the name
+	 */
+	private String getFlatName(TypeElement type){
+		Element e = type.getEnclosingElement();
+		if(e instanceof TypeElement)
+			return getFlatName((TypeElement)e) + "_" + type.getSimpleName();
+		return type.getSimpleName().toString();
+	}
+
+	/**
+	 * A property of a mapped class
+	 */
+	private static class Property {
+		private String name;
+		private String getter;
+		private String setter;
+		private TypeMirror type;
+	}
+}
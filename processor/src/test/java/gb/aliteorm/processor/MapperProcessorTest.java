@@ -0,0 +1,172 @@
+/*
+ * Copyright (C) 2015 Guillaume Barré
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gb.aliteorm.processor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Compiles sample mapped classes with the <code>MapperProcessor</code> and checks the generated mappers compile.
+ *
+ * @author Guillaume Barré
+ * @since 1.0
+ *
+ */
+public class MapperProcessorTest {
+
+	private static final String[][] LIBRARY = new String[][]{
+		{"gb/aliteorm/lib/annotation/ALiteEntity", "package gb.aliteorm.lib.annotation; public @interface ALiteEntity {}"},
+		{"gb/aliteorm/lib/annotation/ALiteEmbeddable", "package gb.aliteorm.lib.annotation; public @interface ALiteEmbeddable {}"},
+		{"gb/aliteorm/lib/annotation/ALiteMappedSuperclass", "package gb.aliteorm.lib.annotation; public @interface ALiteMappedSuperclass {}"},
+		{"gb/aliteorm/lib/mapper/EntityMapper", "package gb.aliteorm.lib.mapper; public interface EntityMapper {"
+			+ " Object newInstance(); int indexOf(String property);"
+			+ " Object get(Object target, int property); void set(Object target, int property, Object value); }"}
+	};
+
+	private File output;
+
+	@Before
+	public void setUp() throws IOException{
+		output = Files.createTempDirectory("mapper").toFile();
+	}
+
+	@After
+	public void tearDown(){
+		delete(output);
+	}
+
+	@Test
+	public void testPrivateNestedClassesHaveNoMapper() throws IOException{
+		compile("sample/Person", "package sample; import gb.aliteorm.lib.annotation.*;"
+			+ " public class Person {"
+			+ "   @ALiteEntity private static class Hidden { int v; public int getV(){ return v; } public void setV(int v){ this.v = v; } }"
+			+ "   @ALiteEmbeddable private static class HiddenAddress { String s; public String getS(){ return s; } public void setS(String s){ this.s = s; } }"
+			+ "   private static class Holder { @ALiteEntity static class Inside { int v; public int getV(){ return v; } public void setV(int v){ this.v = v; } } }"
+			+ " }");
+		assertFalse(generated("Person_Hidden").exists());
+		assertFalse(generated("Person_HiddenAddress").exists());
+		assertFalse(generated("Person_Holder_Inside").exists());
+	}
+
+	@Test
+	public void testInnerClassMapperCannotInstantiate() throws IOException{
+		compile("sample/Person", "package sample; import gb.aliteorm.lib.annotation.*;"
+			+ " public class Person {"
+			+ "   @ALiteEntity public class Inner { int v; public int getV(){ return v; } public void setV(int v){ this.v = v; } }"
+			+ " }");
+		String mapper = read(generated("Person_Inner"));
+		assertTrue(mapper.contains("return null;"));
+		assertTrue(mapper.contains("o.setV("));
+	}
+
+	@Test
+	public void testAbstractMappedSuperclassMapperCannotInstantiate() throws IOException{
+		compile("sample/Base", "package sample; import gb.aliteorm.lib.annotation.*;"
+			+ " @ALiteMappedSuperclass public abstract class Base {"
+			+ "   long id; public long getId(){ return id; } public void setId(long id){ this.id = id; }"
+			+ "   public String getLabel(){ return \"\"; }"
+			+ " }");
+		String mapper = read(generated("Base"));
+		assertTrue(mapper.contains("return null;"));
+		assertTrue(mapper.contains("\"id\""));
+		// A getter without setter is left to the reflection
+		assertFalse(mapper.contains("\"label\""));
+	}
+
+	/**
+	 * Compiles a sample class with the stubs of the library, failing if the sample or a generated mapper doesn't compile
+	 * @param name the path of the sample class, without extension
+	 * @param source the source of the sample class
+	 */
+	private void compile(String name, String source){
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+		ArrayList<JavaFileObject> units = new ArrayList<JavaFileObject>();
+		for(int i = 0; i < LIBRARY.length; i++){
+			units.add(new Source(LIBRARY[i][0], LIBRARY[i][1]));
+		}
+		units.add(new Source(name, source));
+		List<String> options = Arrays.asList("-d", output.getPath(), "-s", output.getPath());
+		JavaCompiler.CompilationTask task = compiler.getTask(null, null, diagnostics, options, null, units);
+		task.setProcessors(Collections.singletonList(new MapperProcessor()));
+		boolean success = task.call();
+		StringBuilder errors = new StringBuilder();
+		for(Diagnostic<? extends JavaFileObject> d : diagnostics.getDiagnostics()){
+			if(d.getKind() == Diagnostic.Kind.ERROR)
+				errors.append(d.getMessage(null)).append("\n");
+		}
+		assertEquals("", errors.toString());
+		assertTrue(success);
+	}
+
+	private File generated(String name){
+		return new File(output, "sample" + File.separator + name + "_ALiteMapper.java");
+	}
+
+	private static String read(File f) throws IOException{
+		return new String(Files.readAllBytes(f.toPath()), StandardCharsets.UTF_8);
+	}
+
+	private static void delete(File f){
+		File[] children = f.listFiles();
+		if(children != null){
+			for(int i = 0; i < children.length; i++){
+				delete(children[i]);
+			}
+		}
+		f.delete();
+	}
+
+	/**
+	 * In memory source file
+	 */
+	private static class Source extends SimpleJavaFileObject{
+
+		private String code;
+
+		Source(String name, String code){
+			super(URI.create("string:///" + name + Kind.SOURCE.extension), Kind.SOURCE);
+			this.code = code;
+		}
+
+		@Override
+		public CharSequence getCharContent(boolean ignoreEncodingErrors){
+			return code;
+		}
+	}
+}